@@ -0,0 +1,187 @@
+package com.vacancy.model.dto;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vacancy.model.dto.in.OrganizationDtoIn;
+import com.vacancy.model.dto.in.UserDtoIn;
+import com.vacancy.model.dto.in.VacancyDtoIn;
+import com.vacancy.model.dto.out.OrganizationDtoOut;
+import com.vacancy.model.dto.out.UserDtoOut;
+import com.vacancy.model.dto.out.UserVacancyResponseDtoOut;
+import com.vacancy.model.dto.out.VacancyDtoOut;
+import com.vacancy.model.entities.Organization;
+import com.vacancy.model.entities.User;
+import com.vacancy.model.entities.UserVacancyResponse;
+import com.vacancy.model.entities.Vacancy;
+
+/**
+ * Сравнивает прежний ModelMapper (те же type map, что регистрировал MappersConfig)
+ * с ручными DtoOut.of / DtoIn.toEntity для каждой пары DTO и сущности.
+ * Перед замерами проверяет, что оба способа дают одинаковый результат.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DtoMappingBenchmark {
+
+    private ModelMapper modelMapper;
+    private User user;
+    private Organization organization;
+    private Vacancy vacancy;
+    private UserVacancyResponse response;
+    private UserDtoIn userDtoIn;
+    private OrganizationDtoIn organizationDtoIn;
+    private VacancyDtoIn vacancyDtoIn;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        modelMapper = new ModelMapper();
+        modelMapper.createTypeMap(UserDtoIn.class, User.class);
+        modelMapper.createTypeMap(User.class, UserDtoOut.class);
+        modelMapper.createTypeMap(OrganizationDtoIn.class, Organization.class);
+        modelMapper.createTypeMap(Organization.class, OrganizationDtoOut.class);
+        modelMapper.createTypeMap(VacancyDtoIn.class, Vacancy.class);
+        modelMapper.createTypeMap(Vacancy.class, VacancyDtoOut.class);
+        modelMapper.createTypeMap(UserVacancyResponse.class, UserVacancyResponseDtoOut.class);
+
+        Instant updatedAt = Instant.parse("2025-03-01T10:15:30Z");
+        user = new User("developer", "developer@example.com");
+        user.setId(42L);
+        user.setCvLink("http://cv.example.com/developer");
+        user.setVersion(3L);
+        user.setUpdatedAt(updatedAt);
+
+        organization = new Organization("Acme", "hr@acme.example.com");
+        organization.setId(7L);
+        organization.setVersion(1L);
+        organization.setUpdatedAt(updatedAt);
+
+        vacancy = new Vacancy("Java Developer", "Spring Boot, PostgreSQL, Kafka. Удаленная работа, полный день.");
+        vacancy.setId(1001L);
+        vacancy.setMinSalary(150_000);
+        vacancy.setMaxSalary(250_000);
+        vacancy.setCity("Moscow");
+        vacancy.setOrganization(organization);
+        vacancy.setVersion(5L);
+        vacancy.setUpdatedAt(updatedAt);
+
+        response = new UserVacancyResponse(user, vacancy);
+        response.setResponseDate(OffsetDateTime.parse("2025-03-02T08:00:00Z"));
+
+        // у входных DTO защищенные конструкторы, их создает Jackson, как и в контроллерах
+        ObjectMapper objectMapper = new ObjectMapper();
+        userDtoIn = objectMapper.readValue("""
+                {"nickname": "developer", "email": "developer@example.com", "cv_link": "http://cv.example.com/developer"}
+                """, UserDtoIn.class);
+        organizationDtoIn = objectMapper.readValue("""
+                {"nickname": "Acme", "email": "hr@acme.example.com"}
+                """, OrganizationDtoIn.class);
+        vacancyDtoIn = objectMapper.readValue("""
+                {"description": "Java Developer", "long_description": "Spring Boot, PostgreSQL, Kafka.",
+                 "min_salary": 150000, "max_salary": 250000, "city": "Moscow", "organization_id": 7}
+                """, VacancyDtoIn.class);
+
+        check(modelMapper.map(user, UserDtoOut.class), UserDtoOut.of(user));
+        check(modelMapper.map(organization, OrganizationDtoOut.class), OrganizationDtoOut.of(organization));
+        check(modelMapper.map(vacancy, VacancyDtoOut.class), VacancyDtoOut.of(vacancy));
+        check(modelMapper.map(response, UserVacancyResponseDtoOut.class), UserVacancyResponseDtoOut.of(response));
+        check(modelMapper.map(userDtoIn, User.class), userDtoIn.toEntity());
+        check(modelMapper.map(organizationDtoIn, Organization.class), organizationDtoIn.toEntity());
+        Vacancy mappedVacancy = modelMapper.map(vacancyDtoIn, Vacancy.class);
+        // ModelMapper по совпадению имен переносил organization_id и в id вакансии, и в заготовку организации;
+        // ручной маппер organization_id не переносит, организацию задает сервис
+        mappedVacancy.setId(0L);
+        mappedVacancy.setOrganization(null);
+        check(mappedVacancy, vacancyDtoIn.toEntity());
+    }
+
+    private static void check(Object modelMapperResult, Object handwrittenResult) {
+        if (!Objects.equals(modelMapperResult, handwrittenResult)) {
+            throw new IllegalStateException("Mappers differ: " + modelMapperResult + " vs " + handwrittenResult);
+        }
+    }
+
+    @Benchmark
+    public UserDtoOut userOutModelMapper() {
+        return modelMapper.map(user, UserDtoOut.class);
+    }
+
+    @Benchmark
+    public UserDtoOut userOutHandwritten() {
+        return UserDtoOut.of(user);
+    }
+
+    @Benchmark
+    public OrganizationDtoOut organizationOutModelMapper() {
+        return modelMapper.map(organization, OrganizationDtoOut.class);
+    }
+
+    @Benchmark
+    public OrganizationDtoOut organizationOutHandwritten() {
+        return OrganizationDtoOut.of(organization);
+    }
+
+    @Benchmark
+    public VacancyDtoOut vacancyOutModelMapper() {
+        return modelMapper.map(vacancy, VacancyDtoOut.class);
+    }
+
+    @Benchmark
+    public VacancyDtoOut vacancyOutHandwritten() {
+        return VacancyDtoOut.of(vacancy);
+    }
+
+    @Benchmark
+    public UserVacancyResponseDtoOut responseOutModelMapper() {
+        return modelMapper.map(response, UserVacancyResponseDtoOut.class);
+    }
+
+    @Benchmark
+    public UserVacancyResponseDtoOut responseOutHandwritten() {
+        return UserVacancyResponseDtoOut.of(response);
+    }
+
+    @Benchmark
+    public User userInModelMapper() {
+        return modelMapper.map(userDtoIn, User.class);
+    }
+
+    @Benchmark
+    public User userInHandwritten() {
+        return userDtoIn.toEntity();
+    }
+
+    @Benchmark
+    public Organization organizationInModelMapper() {
+        return modelMapper.map(organizationDtoIn, Organization.class);
+    }
+
+    @Benchmark
+    public Organization organizationInHandwritten() {
+        return organizationDtoIn.toEntity();
+    }
+
+    @Benchmark
+    public Vacancy vacancyInModelMapper() {
+        return modelMapper.map(vacancyDtoIn, Vacancy.class);
+    }
+
+    @Benchmark
+    public Vacancy vacancyInHandwritten() {
+        return vacancyDtoIn.toEntity();
+    }
+}
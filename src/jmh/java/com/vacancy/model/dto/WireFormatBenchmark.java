@@ -0,0 +1,128 @@
+package com.vacancy.model.dto;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.vacancy.model.dto.out.VacancyDtoOut;
+import com.vacancy.model.dto.out.VacancySummaryDtoOut;
+import com.vacancy.model.entities.Organization;
+import com.vacancy.model.entities.Vacancy;
+
+/**
+ * Кодирование и разбор страницы вакансий в JSON, CBOR и Smile: страница списка GET /api/vacancies
+ * (VacancySummaryDtoOut) и страница полных VacancyDtoOut с подробным описанием.
+ * Размеры тел сравнивает WireFormatTest.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WireFormatBenchmark {
+
+    private static final String[] WORDS = {
+            "java", "backend", "developer", "spring", "postgres", "kafka", "docker", "kubernetes", "команда",
+            "удаленно", "офис", "опыт", "разработка", "сервис", "тестирование", "senior", "middle", "lead"
+    };
+    private static final String[] CITIES = {"Moscow", "Saint Petersburg", "Kazan", "Novosibirsk", null};
+    private static final int PAGE_SIZE = 50;
+
+    @Param({"JSON", "CBOR", "SMILE"})
+    public WireFormat format;
+
+    private ObjectWriter writer;
+    private ObjectReader summaryReader;
+    private ObjectReader vacancyReader;
+    private List<VacancySummaryDtoOut> summaries;
+    private List<VacancyDtoOut> vacancies;
+    private byte[] summaryBody;
+    private byte[] vacancyBody;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        // как у маппера Spring Boot: даты строками ISO-8601
+        ObjectMapper json = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        ObjectMapper mapper = format.mapper(json);
+        writer = mapper.writer();
+        summaryReader = mapper.readerFor(new TypeReference<List<VacancySummaryDtoOut>>() {});
+        vacancyReader = mapper.readerFor(new TypeReference<List<VacancyDtoOut>>() {});
+
+        Random random = new Random(42);
+        Organization organization = new Organization("Acme", "hr@acme.example.com");
+        summaries = new ArrayList<>();
+        vacancies = new ArrayList<>();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            Vacancy vacancy = new Vacancy(text(random, 3), text(random, 60));
+            vacancy.setId(100_000L + i);
+            vacancy.setMinSalary(50_000 + random.nextInt(200) * 1000);
+            vacancy.setMaxSalary(vacancy.getMinSalary() + random.nextInt(100) * 1000);
+            vacancy.setCity(CITIES[random.nextInt(CITIES.length)]);
+            organization.setId(1L + random.nextInt(500));
+            vacancy.setOrganization(organization);
+            vacancy.setUpdatedAt(Instant.parse("2025-03-01T10:15:30Z").plusSeconds(i));
+            summaries.add(new VacancySummaryDtoOut(vacancy.getId(), vacancy.getDescription(), vacancy.getMinSalary(),
+                    vacancy.getMaxSalary(), vacancy.getCity(), vacancy.getOrganization().getId()));
+            VacancyDtoOut dto = VacancyDtoOut.of(vacancy);
+            dto.setResponseCount(random.nextInt(100));
+            dto.setFavoriteCount(random.nextInt(20));
+            vacancies.add(dto);
+        }
+
+        summaryBody = writer.writeValueAsBytes(summaries);
+        vacancyBody = writer.writeValueAsBytes(vacancies);
+        if (!summaries.equals(summaryReader.readValue(summaryBody))) {
+            throw new IllegalStateException(format + " round trip changed the summary page");
+        }
+    }
+
+    @Benchmark
+    public byte[] encodeSummaries() throws IOException {
+        return writer.writeValueAsBytes(summaries);
+    }
+
+    @Benchmark
+    public List<VacancySummaryDtoOut> decodeSummaries() throws IOException {
+        return summaryReader.readValue(summaryBody);
+    }
+
+    @Benchmark
+    public byte[] encodeVacancies() throws IOException {
+        return writer.writeValueAsBytes(vacancies);
+    }
+
+    @Benchmark
+    public List<VacancyDtoOut> decodeVacancies() throws IOException {
+        return vacancyReader.readValue(vacancyBody);
+    }
+
+    private static String text(Random random, int words) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,144 @@
+package com.vacancy.repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Пачка одновременных запросов, каждый из которых берет соединение из Hikari и ждет ответа базы:
+ * пул платформенных потоков размером с пул Tomcat по умолчанию против потока на запрос
+ * на виртуальных потоках, без допуска и с {@link AdmissionControlDataSource}.
+ * Нужны запущенный Docker и, для режимов VIRTUAL*, Java 21 (./gradlew jmh -PvirtualThreads).
+ * <p>
+ * Время операции - время всей пачки, пропускная способность = concurrency / время.
+ * Задержки отдельных запросов от постановки в очередь до ответа печатаются после каждой итерации.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RequestExecutionBenchmark {
+
+    public enum ExecutionMode { PLATFORM, VIRTUAL, VIRTUAL_ADMISSION }
+
+    // server.tomcat.threads.max и spring.datasource.hikari.maximum-pool-size по умолчанию
+    private static final int TOMCAT_THREADS = 200;
+    private static final int POOL_SIZE = 10;
+
+    @Param({"PLATFORM", "VIRTUAL", "VIRTUAL_ADMISSION"})
+    public ExecutionMode mode;
+
+    @Param({"1000"})
+    public int concurrency;
+
+    // время запроса в базе, имитируется pg_sleep
+    @Param({"2"})
+    public int queryMillis;
+
+    private PostgreSQLContainer<?> postgres;
+    private HikariDataSource hikari;
+    private DataSource dataSource;
+    private ExecutorService executor;
+    private final List<long[]> iterationLatencies = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        postgres = new PostgreSQLContainer<>("postgres:17");
+        postgres.start();
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(postgres.getJdbcUrl());
+        config.setUsername(postgres.getUsername());
+        config.setPassword(postgres.getPassword());
+        config.setMaximumPoolSize(POOL_SIZE);
+        config.setMinimumIdle(POOL_SIZE);
+        hikari = new HikariDataSource(config);
+        dataSource = mode == ExecutionMode.VIRTUAL_ADMISSION
+                ? new AdmissionControlDataSource(hikari, POOL_SIZE, Duration.ofMillis(hikari.getConnectionTimeout()))
+                : hikari;
+        executor = mode == ExecutionMode.PLATFORM
+                ? Executors.newFixedThreadPool(TOMCAT_THREADS)
+                : newVirtualThreadPerTaskExecutor();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+        hikari.close();
+        postgres.stop();
+    }
+
+    @TearDown(Level.Iteration)
+    public void printLatencies() {
+        long[] all = iterationLatencies.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+        iterationLatencies.clear();
+        if (all.length > 0) {
+            System.out.printf("%n%s: %d requests, latency p50 %.1f ms, p99 %.1f ms, max %.1f ms%n", mode, all.length,
+                    all[all.length / 2] / 1e6, all[(int) (all.length * 0.99)] / 1e6, all[all.length - 1] / 1e6);
+        }
+    }
+
+    @Benchmark
+    public long[] burst() throws Exception {
+        List<Callable<Long>> requests = new ArrayList<>(concurrency);
+        long submitted = System.nanoTime();
+        for (int i = 0; i < concurrency; i++) {
+            requests.add(() -> {
+                query();
+                return System.nanoTime() - submitted;
+            });
+        }
+        List<Future<Long>> results = executor.invokeAll(requests);
+        long[] latencies = new long[concurrency];
+        for (int i = 0; i < latencies.length; i++) {
+            latencies[i] = results.get(i).get();
+        }
+        iterationLatencies.add(latencies);
+        return latencies;
+    }
+
+    private void query() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT pg_sleep(?)")) {
+            statement.setDouble(1, queryMillis / 1000.0);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+            }
+        }
+    }
+
+    // через отражение, чтобы бенчмарк собирался и на Java 17
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Virtual threads need Java 21, run with -PvirtualThreads", e);
+        }
+    }
+}
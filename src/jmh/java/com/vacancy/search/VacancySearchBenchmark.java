@@ -0,0 +1,177 @@
+package com.vacancy.search;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.data.jpa.repository.Query;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import com.vacancy.model.search.VacancyFilter;
+import com.vacancy.repository.VacancyRepository;
+
+/**
+ * Сравнивает поиск по {@link VacancyIndex} с SQL-путем VacancyRepository.searchByText
+ * на одинаковом синтетическом наборе вакансий. Нужен запущенный Docker.
+ * <p>
+ * SQL-путь дополнительно строит фрагменты ts_headline и требует наличия всех слов запроса,
+ * индекс в памяти ищет по любому из слов - это сравнение стоимости типичного запроса, а не одинаковой выдачи.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class VacancySearchBenchmark {
+
+    private static final String[] WORDS = {
+            "java", "backend", "developer", "spring", "postgres", "kafka", "docker", "kubernetes", "python",
+            "django", "frontend", "react", "typescript", "senior", "junior", "middle", "team", "lead", "remote",
+            "office", "moscow", "analyst", "sql", "linux", "devops", "golang", "microservices", "testing", "qa",
+            "mobile", "android", "ios", "kotlin", "swift", "design", "figma", "product", "manager", "data",
+            "engineer", "ml", "spark", "hadoop", "security", "network", "support", "cloud", "aws", "startup"
+    };
+    private static final Pattern NAMED_PARAMETER = Pattern.compile(":(query|afterRank|afterId|limit)\\b");
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"100000"})
+    public int vacancies;
+
+    @Param({"kafka", "java backend postgres"})
+    public String query;
+
+    private PostgreSQLContainer<?> postgres;
+    private Connection connection;
+    private PreparedStatement searchStatement;
+    private final List<String> searchParameters = new ArrayList<>();
+    private VacancyIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        postgres = new PostgreSQLContainer<>("postgres:17");
+        postgres.start();
+        Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .load()
+                .migrate();
+        connection = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        index = new VacancyIndex();
+        seed();
+
+        // тот же SQL, что выполняет приложение, с позиционными параметрами вместо именованных
+        String sql = VacancyRepository.class
+                .getMethod("searchByText", String.class, float.class, long.class, int.class)
+                .getAnnotation(Query.class)
+                .value();
+        Matcher matcher = NAMED_PARAMETER.matcher(sql);
+        StringBuilder positional = new StringBuilder();
+        while (matcher.find()) {
+            searchParameters.add(matcher.group(1));
+            matcher.appendReplacement(positional, "?");
+        }
+        matcher.appendTail(positional);
+        searchStatement = connection.prepareStatement(positional.toString());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        searchStatement.close();
+        connection.close();
+        postgres.stop();
+    }
+
+    @Benchmark
+    public List<VacancyIndex.Hit> inMemoryIndex() {
+        return index.search(query, VacancyFilter.NONE, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public int postgresFullText() throws SQLException {
+        for (int i = 0; i < searchParameters.size(); i++) {
+            switch (searchParameters.get(i)) {
+                case "query" -> searchStatement.setString(i + 1, query);
+                case "afterRank" -> searchStatement.setFloat(i + 1, Float.MAX_VALUE);
+                case "afterId" -> searchStatement.setLong(i + 1, Long.MAX_VALUE);
+                case "limit" -> searchStatement.setInt(i + 1, PAGE_SIZE + 1);
+                default -> throw new IllegalStateException(searchParameters.get(i));
+            }
+        }
+        int rows = 0;
+        try (ResultSet resultSet = searchStatement.executeQuery()) {
+            while (resultSet.next()) {
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    private void seed() throws SQLException {
+        Random random = new Random(42);
+        connection.setAutoCommit(false);
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO vacancy (description, long_description, min_salary, max_salary, city) VALUES (?, ?, ?, ?, ?)",
+                Statement.RETURN_GENERATED_KEYS)) {
+            List<Object[]> pending = new ArrayList<>();
+            for (int i = 1; i <= vacancies; i++) {
+                String description = text(random, 3);
+                String longDescription = text(random, 40);
+                int minSalary = 50_000 + random.nextInt(200) * 1000;
+                int maxSalary = minSalary + random.nextInt(100) * 1000;
+                String city = "city_" + random.nextInt(100);
+                insert.setString(1, description);
+                insert.setString(2, longDescription);
+                insert.setInt(3, minSalary);
+                insert.setInt(4, maxSalary);
+                insert.setString(5, city);
+                insert.addBatch();
+                pending.add(new Object[]{description, longDescription, minSalary, maxSalary, city});
+                if (i % 1000 == 0 || i == vacancies) {
+                    insert.executeBatch();
+                    try (ResultSet keys = insert.getGeneratedKeys()) {
+                        for (Object[] row : pending) {
+                            keys.next();
+                            index.put(keys.getLong(1), (String) row[0], (String) row[1],
+                                    (Integer) row[2], (Integer) row[3], (String) row[4], null);
+                        }
+                    }
+                    pending.clear();
+                }
+            }
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE vacancy");
+        }
+    }
+
+    // частота слов убывает к концу словаря, как в реальных текстах
+    private static String text(Random random, int words) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[(int) (Math.pow(random.nextDouble(), 2) * WORDS.length)]);
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,33 @@
+package com.vacancy.controllers;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.Operation;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.vacancy.model.dto.out.CacheRegionStatsDtoOut;
+import com.vacancy.service.CacheStatisticsService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/cache")
+@RequiredArgsConstructor
+public class CacheController {
+
+    private final CacheStatisticsService cacheStatisticsService;
+
+    @Operation(
+            summary = "Статистика кеша второго уровня",
+            description = "Для каждого региона кеша сущностей и запросов: текущий размер, попадания, промахи "
+                    + "и вытеснения по размеру или времени жизни с момента запуска экземпляра приложения"
+    )
+    @GetMapping("/stats")
+    public ResponseEntity<List<CacheRegionStatsDtoOut>> getCacheStatistics() {
+        return ResponseEntity.ok(cacheStatisticsService.getStatistics());
+    }
+}
@@ -0,0 +1,46 @@
+package com.vacancy.controllers;
+
+import org.springframework.http.HttpStatus;
+
+import com.vacancy.exceptions.RequestException;
+
+/**
+ * ETag ресурсов по номеру версии сущности (@Version): версия null у еще не сохраненной сущности
+ * и растет при каждом UPDATE строки, поэтому тег меняется вместе с данными. Счетчики откликов и избранного в тег не входят:
+ * они считаются в памяти каждого экземпляра и сходятся между экземплярами лишь с задержкой
+ * (vacancy.counters.refresh-interval), так что один и тот же ресурс получал бы на разных узлах разные теги.
+ * Поэтому ответ 304 на If-None-Match может отдать клиенту устаревшие счетчики.
+ */
+final class EntityTags {
+
+    private static final String MALFORMED = "Заголовок If-Match должен содержать один ETag, полученный в ответе на GET";
+
+    private EntityTags() {
+    }
+
+    static String of(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Версия из заголовка If-Match; null, если заголовка нет или он равен "*".
+     * Слабый тег (W/"...") не может совпасть при строгом сравнении, поэтому тоже отклоняется.
+     * Теги прежнего вида "версия-отклики-избранное", выданные до исключения счетчиков, тоже принимаются.
+     */
+    static Long version(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new RequestException(HttpStatus.PRECONDITION_FAILED, MALFORMED);
+        }
+        String value = tag.substring(1, tag.length() - 1);
+        int dash = value.indexOf('-');
+        try {
+            return Long.parseLong(dash < 0 ? value : value.substring(0, dash));
+        } catch (NumberFormatException e) {
+            throw new RequestException(HttpStatus.PRECONDITION_FAILED, MALFORMED);
+        }
+    }
+}
@@ -1,23 +1,31 @@
 package com.vacancy.controllers;
 
 import com.vacancy.model.dto.in.OrganizationDtoIn;
+import com.vacancy.model.dto.in.VacancyBulkDtoIn;
 import com.vacancy.model.dto.in.VacancyDtoIn;
 import com.vacancy.model.dto.out.OrganizationDtoOut;
 import com.vacancy.model.dto.out.UserVacancyResponseDtoOut;
 import com.vacancy.model.dto.out.VacancyDtoOut;
+import com.vacancy.model.dto.out.VacancySummaryDtoOut;
 import com.vacancy.model.entities.Organization;
 import com.vacancy.model.entities.Vacancy;
+import com.vacancy.model.pagination.CursorPage;
+import com.vacancy.model.search.VacancyResponse;
+import com.vacancy.model.search.VacancySummary;
+import com.vacancy.search.VacancyCounters;
 import com.vacancy.service.OrganizationService;
-import com.vacancy.service.UserVacancyResponseService;
+import com.vacancy.service.TotalCountService;
+import com.vacancy.service.VacancyCounterService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.ZoneOffset;
 import java.util.List;
 
 @RestController
@@ -26,72 +34,125 @@ import java.util.List;
 public class OrganizationController {
 
     private final OrganizationService organizationService;
-    private final UserVacancyResponseService responseService;
-    private final ModelMapper modelMapper;
+    private final TotalCountService totalCountService;
+    private final VacancyCounterService counterService;
 
     @GetMapping
     public ResponseEntity<List<OrganizationDtoOut>> getAllOrganizations(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "50") int size) {
-        Page<Organization> organizationPage = organizationService.getAllOrganizations(page, size);
-        List<OrganizationDtoOut> dtos = organizationPage.getContent().stream()
-                .map(org -> modelMapper.map(org, OrganizationDtoOut.class)).toList();
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "false") boolean exactCount) {
         HttpHeaders headers = new HttpHeaders();
-        headers.add("X-Total-Count", String.valueOf(organizationPage.getTotalElements()));
+        headers.add("X-Total-Count", String.valueOf(totalCountService.getTotalCount(Organization.class, exactCount)));
+        if (after != null) {
+            CursorPage<Organization> cursorPage = organizationService.getOrganizationsAfter(after, size);
+            List<OrganizationDtoOut> dtos = cursorPage.content().stream()
+                    .map(this::toDto).toList();
+            if (cursorPage.hasNext()) {
+                headers.add("X-Next-Cursor", cursorPage.nextCursor());
+            }
+            return ResponseEntity.ok().headers(headers).body(dtos);
+        }
+        Slice<Organization> organizationSlice = organizationService.getAllOrganizations(page, size);
+        List<OrganizationDtoOut> dtos = organizationSlice.getContent().stream()
+                .map(this::toDto).toList();
+        headers.add("X-Has-Next", String.valueOf(organizationSlice.hasNext()));
         return ResponseEntity.ok().headers(headers).body(dtos);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<OrganizationDtoOut> getOrganizationById(@PathVariable Long id) {
+    public ResponseEntity<OrganizationDtoOut> getOrganizationById(@PathVariable Long id, WebRequest request) {
         Organization organization = organizationService.getOrganizationById(id);
-        return ResponseEntity.ok(modelMapper.map(organization, OrganizationDtoOut.class));
+        VacancyCounters.Counts counts = counterService.getOrganizationCounts(id);
+        String eTag = EntityTags.of(organization.getVersion());
+        if (request.checkNotModified(eTag)) {
+            // 304 с ETag уже выставлен, тело не строится
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(toDto(organization, counts));
     }
 
     @PostMapping
     public ResponseEntity<OrganizationDtoOut> createOrganization(@Valid @RequestBody OrganizationDtoIn organizationDtoIn) {
-        Organization organization = modelMapper.map(organizationDtoIn, Organization.class);
+        Organization organization = organizationDtoIn.toEntity();
         Organization savedOrganization = organizationService.createOrganization(organization);
-        return ResponseEntity.status(HttpStatus.CREATED).body(modelMapper.map(savedOrganization, OrganizationDtoOut.class));
+        return ResponseEntity.status(HttpStatus.CREATED).body(toDto(savedOrganization));
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<OrganizationDtoOut> updateOrganization(@PathVariable Long id, @Valid @RequestBody OrganizationDtoIn organizationDtoIn) {
-        Organization organization = modelMapper.map(organizationDtoIn, Organization.class);
-        Organization updatedOrganization = organizationService.updateOrganization(id, organization);
-        return ResponseEntity.ok(modelMapper.map(updatedOrganization, OrganizationDtoOut.class));
+    public ResponseEntity<OrganizationDtoOut> updateOrganization(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody OrganizationDtoIn organizationDtoIn) {
+        Organization organization = organizationDtoIn.toEntity();
+        Organization updatedOrganization = organizationService.updateOrganization(id, organization, EntityTags.version(ifMatch));
+        VacancyCounters.Counts counts = counterService.getOrganizationCounts(id);
+        return ResponseEntity.ok()
+                .eTag(EntityTags.of(updatedOrganization.getVersion()))
+                .body(toDto(updatedOrganization, counts));
     }
 
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteOrganization(@PathVariable Long id) {
-        organizationService.deleteOrganization(id);
+        if (!organizationService.deleteOrganization(id)) {
+            // у организации слишком много вакансий, удаление продолжается в фоне
+            return ResponseEntity.accepted().build();
+        }
         return ResponseEntity.noContent().build();
     }
 
     @GetMapping("/{orgId}/vacancies")
-    public ResponseEntity<List<VacancyDtoOut>> getOrganizationVacancies(@PathVariable Long orgId) {
-        List<Vacancy> vacancies = organizationService.getOrganizationVacancies(orgId);
-        List<VacancyDtoOut> dtos = vacancies.stream()
-                .map(vacancy -> modelMapper.map(vacancy, VacancyDtoOut.class)).toList();
-        return ResponseEntity.ok(dtos);
+    public ResponseEntity<List<VacancySummaryDtoOut>> getOrganizationVacancies(
+            @PathVariable Long orgId,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) String after) {
+        CursorPage<VacancySummary> vacancies = organizationService.getOrganizationVacancies(orgId, after, size);
+        HttpHeaders headers = new HttpHeaders();
+        if (vacancies.hasNext()) {
+            headers.add("X-Next-Cursor", vacancies.nextCursor());
+        }
+        return ResponseEntity.ok().headers(headers).body(vacancies.content()
+                .stream()
+                .map(VacancySummaryDtoOut::of)
+                .toList());
     }
 
     @PostMapping("/{orgId}/vacancies")
     public ResponseEntity<VacancyDtoOut> publishVacancy(
             @PathVariable Long orgId,
             @Valid @RequestBody VacancyDtoIn vacancyDtoIn) {
-        Vacancy vacancy = modelMapper.map(vacancyDtoIn, Vacancy.class);
+        Vacancy vacancy = vacancyDtoIn.toEntity();
         Vacancy savedVacancy = organizationService.publishVacancy(orgId, vacancy);
-        return ResponseEntity.status(HttpStatus.CREATED).body(modelMapper.map(savedVacancy, VacancyDtoOut.class));
+        return ResponseEntity.status(HttpStatus.CREATED).body(toDto(savedVacancy));
+    }
+
+    @PostMapping("/{orgId}/vacancies/bulk")
+    public ResponseEntity<List<VacancyDtoOut>> publishVacancies(
+            @PathVariable Long orgId,
+            @Valid @RequestBody VacancyBulkDtoIn vacancyBulkDtoIn) {
+        List<Vacancy> vacancies = vacancyBulkDtoIn.getVacancies().stream()
+                .map(VacancyDtoIn::toEntity)
+                .toList();
+        List<Vacancy> savedVacancies = organizationService.publishVacancies(orgId, vacancies);
+        List<VacancyDtoOut> dtos = savedVacancies.stream()
+                .map(this::toDto)
+                .toList();
+        return ResponseEntity.status(HttpStatus.CREATED).body(dtos);
     }
 
     @PutMapping("/{orgId}/vacancies/{vacancyId}")
     public ResponseEntity<VacancyDtoOut> updateOrganizationVacancy(
             @PathVariable Long orgId,
             @PathVariable Long vacancyId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody VacancyDtoIn vacancyDtoIn) {
-        Vacancy vacancy = modelMapper.map(vacancyDtoIn, Vacancy.class);
-        Vacancy updatedVacancy = organizationService.updateOrganizationVacancy(orgId, vacancyId, vacancy);
-        return ResponseEntity.ok(modelMapper.map(updatedVacancy, VacancyDtoOut.class));
+        Vacancy vacancy = vacancyDtoIn.toEntity();
+        Vacancy updatedVacancy = organizationService.updateOrganizationVacancy(orgId, vacancyId, vacancy, EntityTags.version(ifMatch));
+        VacancyCounters.Counts counts = counterService.getVacancyCounts(vacancyId);
+        return ResponseEntity.ok()
+                .eTag(EntityTags.of(updatedVacancy.getVersion()))
+                .body(toDto(updatedVacancy, counts));
     }
 
     @DeleteMapping("/{orgId}/vacancies/{vacancyId}")
@@ -105,10 +166,40 @@ public class OrganizationController {
     @GetMapping("/{orgId}/vacancies/{vacancyId}/responses")
     public ResponseEntity<List<UserVacancyResponseDtoOut>> getVacancyResponses(
             @PathVariable Long orgId,
-            @PathVariable Long vacancyId) {
-        organizationService.getOrganizationById(orgId);
-        List<UserVacancyResponseDtoOut> responses = responseService.getVacancyResponses(vacancyId).stream()
-                .map(response -> modelMapper.map(response, UserVacancyResponseDtoOut.class)).toList();
-        return ResponseEntity.ok(responses);
+            @PathVariable Long vacancyId,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) String after) {
+        CursorPage<VacancyResponse> responses = organizationService.getVacancyResponses(orgId, vacancyId, after, size);
+        List<UserVacancyResponseDtoOut> dtos = responses.content().stream()
+                .map(response -> new UserVacancyResponseDtoOut(response.getUserId(), response.getVacancyId(),
+                        response.getResponseDate().atOffset(ZoneOffset.UTC)))
+                .toList();
+        HttpHeaders headers = new HttpHeaders();
+        if (responses.hasNext()) {
+            headers.add("X-Next-Cursor", responses.nextCursor());
+        }
+        return ResponseEntity.ok().headers(headers).body(dtos);
+    }
+
+    private OrganizationDtoOut toDto(Organization organization) {
+        return toDto(organization, counterService.getOrganizationCounts(organization.getId()));
+    }
+
+    private OrganizationDtoOut toDto(Organization organization, VacancyCounters.Counts counts) {
+        OrganizationDtoOut dto = OrganizationDtoOut.of(organization);
+        dto.setResponseCount(counts.responses());
+        dto.setFavoriteCount(counts.favorites());
+        return dto;
+    }
+
+    private VacancyDtoOut toDto(Vacancy vacancy) {
+        return toDto(vacancy, counterService.getVacancyCounts(vacancy.getId()));
+    }
+
+    private VacancyDtoOut toDto(Vacancy vacancy, VacancyCounters.Counts counts) {
+        VacancyDtoOut dto = VacancyDtoOut.of(vacancy);
+        dto.setResponseCount(counts.responses());
+        dto.setFavoriteCount(counts.favorites());
+        return dto;
     }
 }
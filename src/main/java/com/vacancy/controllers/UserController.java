@@ -1,22 +1,29 @@
 package com.vacancy.controllers;
 
 import com.vacancy.model.dto.in.UserDtoIn;
+import com.vacancy.model.dto.out.FavoriteVacancyDtoOut;
 import com.vacancy.model.dto.out.UserDtoOut;
+import com.vacancy.model.dto.out.UserImportReportDtoOut;
 import com.vacancy.model.dto.out.UserVacancyResponseDtoOut;
 import com.vacancy.model.entities.User;
-import com.vacancy.model.entities.Vacancy;
+import com.vacancy.model.pagination.CursorPage;
+import com.vacancy.model.search.FavoriteVacancy;
+import com.vacancy.service.TotalCountService;
+import com.vacancy.service.UserImportService;
 import com.vacancy.service.UserService;
 import com.vacancy.service.VacancyService;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -25,39 +32,80 @@ import java.util.List;
 public class UserController {
 
     private final UserService userService;
+    private final UserImportService userImportService;
+    private final TotalCountService totalCountService;
     private final VacancyService vacancyService;
-    private final ModelMapper modelMapper;
 
     @GetMapping
     public ResponseEntity<List<UserDtoOut>> getAllUsers(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "50") int size) {
-        Page<User> userPage = userService.getAllUsers(page, size);
-        List<UserDtoOut> dtos = userPage.getContent().stream()
-                .map(user -> modelMapper.map(user, UserDtoOut.class)).toList();
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "false") boolean exactCount) {
         HttpHeaders headers = new HttpHeaders();
-        headers.add("X-Total-Count", String.valueOf(userPage.getTotalElements()));
+        headers.add("X-Total-Count", String.valueOf(totalCountService.getTotalCount(User.class, exactCount)));
+        if (after != null) {
+            CursorPage<User> cursorPage = userService.getUsersAfter(after, size);
+            List<UserDtoOut> dtos = cursorPage.content().stream()
+                    .map(UserDtoOut::of).toList();
+            if (cursorPage.hasNext()) {
+                headers.add("X-Next-Cursor", cursorPage.nextCursor());
+            }
+            return ResponseEntity.ok().headers(headers).body(dtos);
+        }
+        Slice<User> userSlice = userService.getAllUsers(page, size);
+        List<UserDtoOut> dtos = userSlice.getContent().stream()
+                .map(UserDtoOut::of).toList();
+        headers.add("X-Has-Next", String.valueOf(userSlice.hasNext()));
         return ResponseEntity.ok().headers(headers).body(dtos);
     }
 
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<UserImportReportDtoOut> importUsersFromJson(InputStream body) {
+        return importResponse(userImportService.importUsersFromJson(body));
+    }
+
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<UserImportReportDtoOut> importUsersFromCsv(InputStream body) {
+        return importResponse(userImportService.importUsersFromCsv(body));
+    }
+
+    // чтение прервано: 400, но с отчетом о том, что успело сохраниться
+    private static ResponseEntity<UserImportReportDtoOut> importResponse(UserImportReportDtoOut report) {
+        if (report.getError() != null) {
+            return ResponseEntity.badRequest().body(report);
+        }
+        return ResponseEntity.ok(report);
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<UserDtoOut> getUserById(@PathVariable Long id) {
+    public ResponseEntity<UserDtoOut> getUserById(@PathVariable Long id, WebRequest request) {
         User user = userService.getUserById(id);
-        return ResponseEntity.ok(modelMapper.map(user, UserDtoOut.class));
+        String eTag = EntityTags.of(user.getVersion());
+        if (request.checkNotModified(eTag)) {
+            // 304 с ETag уже выставлен, тело не строится
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(UserDtoOut.of(user));
     }
 
     @PostMapping
     public ResponseEntity<UserDtoOut> createUser(@Valid @RequestBody UserDtoIn userDtoIn) {
-        User user = modelMapper.map(userDtoIn, User.class);
+        User user = userDtoIn.toEntity();
         User savedUser = userService.createUser(user);
-        return ResponseEntity.status(HttpStatus.CREATED).body(modelMapper.map(savedUser, UserDtoOut.class));
+        return ResponseEntity.status(HttpStatus.CREATED).body(UserDtoOut.of(savedUser));
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<UserDtoOut> updateUser(@PathVariable Long id, @Valid @RequestBody UserDtoIn userDtoIn) {
-        User user = modelMapper.map(userDtoIn, User.class);
-        User updatedUser = userService.updateUser(id, user);
-        return ResponseEntity.ok(modelMapper.map(updatedUser, UserDtoOut.class));
+    public ResponseEntity<UserDtoOut> updateUser(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody UserDtoIn userDtoIn) {
+        User user = userDtoIn.toEntity();
+        User updatedUser = userService.updateUser(id, user, EntityTags.version(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(EntityTags.of(updatedUser.getVersion()))
+                .body(UserDtoOut.of(updatedUser));
     }
 
     @DeleteMapping("/{id}")
@@ -67,9 +115,21 @@ public class UserController {
     }
 
     @GetMapping("/{id}/favorites")
-    public ResponseEntity<List<Vacancy>> getUserFavorites(@PathVariable Long id) {
-        List<Vacancy> favorites = userService.getUserFavorites(id);
-        return ResponseEntity.ok(favorites);
+    public ResponseEntity<List<FavoriteVacancyDtoOut>> getUserFavorites(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) String after) {
+        CursorPage<FavoriteVacancy> favorites = userService.getUserFavorites(id, after, size);
+        List<FavoriteVacancyDtoOut> dtos = favorites.content().stream()
+                .map(favorite -> new FavoriteVacancyDtoOut(favorite.getId(), favorite.getDescription(),
+                        favorite.getMinSalary(), favorite.getMaxSalary(), favorite.getCity(),
+                        favorite.getOrganizationId(), favorite.getAddedAt()))
+                .toList();
+        HttpHeaders headers = new HttpHeaders();
+        if (favorites.hasNext()) {
+            headers.add("X-Next-Cursor", favorites.nextCursor());
+        }
+        return ResponseEntity.ok().headers(headers).body(dtos);
     }
 
     @PutMapping("/{userId}/favorite/{vacancyId}")
@@ -87,7 +147,7 @@ public class UserController {
     @GetMapping("/{userId}/responses")
     public ResponseEntity<List<UserVacancyResponseDtoOut>> getUserResponses(@PathVariable Long userId) {
         List<UserVacancyResponseDtoOut> responses = userService.getUserResponses(userId).stream()
-                .map(response -> modelMapper.map(response, UserVacancyResponseDtoOut.class)).toList();
+                .map(UserVacancyResponseDtoOut::of).toList();
         return ResponseEntity.ok(responses);
     }
 
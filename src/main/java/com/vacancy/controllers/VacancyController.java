@@ -1,22 +1,48 @@
 package com.vacancy.controllers;
 
+import java.io.IOException;
 import java.util.List;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 
-import org.modelmapper.ModelMapper;
-import org.springframework.data.domain.Page;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.vacancy.model.dto.WireFormat;
 import com.vacancy.model.dto.out.VacancyDtoOut;
+import com.vacancy.model.dto.out.VacancyFacetsDtoOut;
+import com.vacancy.model.dto.out.VacancySearchHitDtoOut;
+import com.vacancy.model.dto.out.VacancySummaryDtoOut;
 import com.vacancy.model.entities.Vacancy;
+import com.vacancy.model.export.VacancyExportFormat;
+import com.vacancy.model.pagination.CursorPage;
+import com.vacancy.model.pagination.SerializedPage;
+import com.vacancy.model.search.VacancyFilter;
+import com.vacancy.model.search.VacancySearchHit;
+import com.vacancy.model.search.VacancySort;
+import com.vacancy.search.VacancyCounters;
+import com.vacancy.search.VacancyFacets;
+import com.vacancy.search.VacancyIndex;
+import com.vacancy.service.VacancyCounterService;
+import com.vacancy.service.VacancyExportService;
+import com.vacancy.service.VacancyFacetService;
+import com.vacancy.service.VacancyIndexService;
+import com.vacancy.service.VacancyPageCacheService;
 import com.vacancy.service.VacancyService;
 
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 
 @RestController
@@ -25,27 +51,196 @@ import lombok.RequiredArgsConstructor;
 public class VacancyController {
 
     private final VacancyService vacancyService;
-    private final ModelMapper modelMapper;
+    private final VacancyIndexService vacancyIndexService;
+    private final VacancyExportService vacancyExportService;
+    private final VacancyFacetService vacancyFacetService;
+    private final VacancyCounterService counterService;
+    private final VacancyPageCacheService pageCacheService;
 
     @Operation(
             summary = "Получить все вакансии",
-            description = "Возвращает список вакансий страницами"
+            description = "Возвращает список вакансий страницами. Если передан параметр after (в том числе пустой), "
+                    + "используется keyset-пагинация по id: курсор следующей страницы приходит в заголовке X-Next-Cursor. "
+                    + "X-Total-Count по умолчанию приблизительный, точное значение - при exactCount=true. "
+                    + "Фильтры city, minSalary/maxSalary (пересечение с вилкой вакансии) и organizationId необязательны; "
+                    + "при фильтрации X-Total-Count отдается только вместе с exactCount=true. "
+                    + "В списке нет подробного описания - оно отдается только в GET /api/vacancies/{id}. "
+                    + "Первые страницы отдаются из кеша готовых ответов, при Accept-Encoding: gzip - сжатыми. "
+                    + "По заголовку Accept отдает JSON (по умолчанию), application/cbor или application/x-jackson-smile"
     )
+    @ApiResponse(responseCode = "200", content = {
+            @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    array = @ArraySchema(schema = @Schema(implementation = VacancySummaryDtoOut.class))),
+            @Content(mediaType = MediaType.APPLICATION_CBOR_VALUE,
+                    array = @ArraySchema(schema = @Schema(implementation = VacancySummaryDtoOut.class))),
+            @Content(mediaType = "application/x-jackson-smile",
+                    array = @ArraySchema(schema = @Schema(implementation = VacancySummaryDtoOut.class)))
+    })
     @GetMapping
-    public ResponseEntity<List<VacancyDtoOut>> getAllVacancies(
+    public void getAllVacancies(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "50") int size) {
-        
-        Page<Vacancy> vacancyPage = vacancyService.getAllVacancies(page, size);
-        
-        List<VacancyDtoOut> dtos = vacancyPage.getContent()
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "false") boolean exactCount,
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) Integer minSalary,
+            @RequestParam(required = false) Integer maxSalary,
+            @RequestParam(required = false) Long organizationId,
+            @RequestParam(defaultValue = "ID") VacancySort sort,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletResponse response) throws IOException {
+
+        WireFormat format = WireFormat.negotiate(accept);
+        VacancyFilter filter = new VacancyFilter(city, minSalary, maxSalary, organizationId, sort);
+
+        // страница приходит готовыми байтами и пишется в поток ответа без конвертеров Spring,
+        // X-Total-Count считается и кешируется вместе с ней
+        SerializedPage serialized = pageCacheService.getPage(filter, page, size, after, format, exactCount);
+        if (serialized.totalCount() != null) {
+            response.setHeader("X-Total-Count", String.valueOf(serialized.totalCount()));
+        }
+        if (serialized.nextCursor() != null) {
+            response.setHeader("X-Next-Cursor", serialized.nextCursor());
+        }
+        if (serialized.hasNext() != null) {
+            response.setHeader("X-Has-Next", String.valueOf(serialized.hasNext()));
+        }
+        byte[] body = serialized.body();
+        if (serialized.gzip() != null && acceptsGzip(acceptEncoding)) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            body = serialized.gzip();
+        }
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING);
+        response.setContentType(format.getMediaType().toString());
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    @Operation(
+            summary = "Получить вакансию",
+            description = "Возвращает вакансию целиком, включая подробное описание, которого нет в списках, "
+                    + "и число откликов и добавлений в избранное. Отдает ETag; при совпадении If-None-Match "
+                    + "отвечает 304 без тела"
+    )
+    @GetMapping("/{id}")
+    public ResponseEntity<VacancyDtoOut> getVacancyById(@PathVariable Long id, WebRequest request) {
+        Vacancy vacancy = vacancyService.getVacancyById(id);
+        VacancyCounters.Counts counts = counterService.getVacancyCounts(id);
+        String eTag = EntityTags.of(vacancy.getVersion());
+        if (request.checkNotModified(eTag)) {
+            // 304 с ETag уже выставлен, тело не строится
+            return null;
+        }
+        VacancyDtoOut dto = VacancyDtoOut.of(vacancy);
+        dto.setResponseCount(counts.responses());
+        dto.setFavoriteCount(counts.favorites());
+        return ResponseEntity.ok().eTag(eTag).body(dto);
+    }
+
+    @Operation(
+            summary = "Полнотекстовый поиск вакансий",
+            description = "Ищет по описанию и подробному описанию (синтаксис websearch: \"точная фраза\", or, -исключение), "
+                    + "сортирует по релевантности и возвращает фрагменты с подсветкой. "
+                    + "Курсор следующей страницы приходит в заголовке X-Next-Cursor и передается в параметре after"
+    )
+    @GetMapping("/search")
+    public ResponseEntity<List<VacancySearchHitDtoOut>> searchVacancies(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String after) {
+
+        CursorPage<VacancySearchHit> hits = vacancyService.searchVacancies(q, after, size);
+
+        List<VacancySearchHitDtoOut> dtos = hits.content()
                 .stream()
-                .map(vac -> modelMapper.map(vac, VacancyDtoOut.class))
+                .map(hit -> new VacancySearchHitDtoOut(hit.getId(), hit.getDescription(), hit.getMinSalary(),
+                        hit.getMaxSalary(), hit.getCity(), hit.getOrganizationId(), hit.getRank(), hit.getSnippet()))
                 .toList();
-        
+
         HttpHeaders headers = new HttpHeaders();
-        headers.add("X-Total-Count", String.valueOf(vacancyPage.getTotalElements()));
-        
+        if (hits.hasNext()) {
+            headers.add("X-Next-Cursor", hits.nextCursor());
+        }
         return ResponseEntity.ok().headers(headers).body(dtos);
     }
+
+    @Operation(
+            summary = "Быстрый поиск вакансий по индексу в памяти",
+            description = "Ищет по словам из описания без обращения к базе, ранжирует по BM25. "
+                    + "Поддерживает фильтры city, minSalary/maxSalary и organizationId; глубина выдачи ограничена 1000 результатами"
+    )
+    @GetMapping("/search/quick")
+    public ResponseEntity<List<VacancySearchHitDtoOut>> quickSearchVacancies(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) Integer minSalary,
+            @RequestParam(required = false) Integer maxSalary,
+            @RequestParam(required = false) Long organizationId) {
+
+        VacancyFilter filter = new VacancyFilter(city, minSalary, maxSalary, organizationId, null);
+        List<VacancyIndex.Hit> hits = vacancyIndexService.search(q, filter, page, size);
+
+        List<VacancySearchHitDtoOut> dtos = hits
+                .stream()
+                .map(hit -> new VacancySearchHitDtoOut(hit.vacancyId(), hit.description(), hit.minSalary(),
+                        hit.maxSalary(), hit.city(), hit.organizationId(), hit.score(), null))
+                .toList();
+
+        return ResponseEntity.ok(dtos);
+    }
+
+    @Operation(
+            summary = "Фасеты для поиска вакансий",
+            description = "Число вакансий по городам, диапазонам зарплаты и организациям. "
+                    + "Каждый фасет учитывает фильтры city и organizationId, кроме фильтра по своему измерению. "
+                    + "Фильтр по зарплате на фасеты не влияет - диапазоны зарплаты сами являются фасетом"
+    )
+    @GetMapping("/facets")
+    public ResponseEntity<VacancyFacetsDtoOut> getVacancyFacets(
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) Long organizationId) {
+
+        VacancyFacets.Counts counts = vacancyFacetService.getFacets(city, organizationId);
+        return ResponseEntity.ok(new VacancyFacetsDtoOut(counts.cities(), counts.salaryBuckets(), counts.organizations()));
+    }
+
+    @Operation(
+            summary = "Выгрузить все вакансии",
+            description = "Отдает все вакансии одним потоком в формате NDJSON (по объекту JSON на строку), CSV с заголовком, "
+                    + "CBOR (последовательность объектов) или Smile, включая подробное описание. Без параметра format "
+                    + "формат выбирается по Accept с учетом q, по умолчанию NDJSON; если ни один формат не подходит - 406. "
+                    + "Ответ пишется по мере чтения из базы, без ограничения размера страницы"
+    )
+    @GetMapping("/export")
+    public void exportVacancies(
+            @RequestParam(required = false) VacancyExportFormat format,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            HttpServletResponse response) throws IOException {
+
+        if (format == null) {
+            format = VacancyExportFormat.fromAccept(accept);
+            response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+        response.setContentType(format.getMediaType().toString());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"vacancies." + format.name().toLowerCase() + "\"");
+        vacancyExportService.exportVacancies(format, response.getOutputStream());
+    }
+
+    // gzip, если клиент его принимает и не запретил явно через q=0
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
 }
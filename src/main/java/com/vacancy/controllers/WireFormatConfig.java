@@ -0,0 +1,28 @@
+package com.vacancy.controllers;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vacancy.model.dto.WireFormat;
+
+/**
+ * Конвертеры CBOR и Smile для ответов через ResponseEntity. Заменяют конвертеры Spring по умолчанию
+ * на месте, поэтому JSON остается первым и отдается при Accept: *&#47;*; мапперы строятся из маппера
+ * Spring Boot, чтобы бинарные ответы совпадали с JSON по полям.
+ */
+@Configuration
+public class WireFormatConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(ObjectMapper objectMapper) {
+        return new MappingJackson2CborHttpMessageConverter(WireFormat.CBOR.mapper(objectMapper));
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(ObjectMapper objectMapper) {
+        return new MappingJackson2SmileHttpMessageConverter(WireFormat.SMILE.mapper(objectMapper));
+    }
+}
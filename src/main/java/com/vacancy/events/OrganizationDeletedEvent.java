@@ -0,0 +1,7 @@
+package com.vacancy.events;
+
+/**
+ * Организация удалена вместе со всеми своими вакансиями (ON DELETE CASCADE / CascadeType.ALL).
+ */
+public record OrganizationDeletedEvent(long id) {
+}
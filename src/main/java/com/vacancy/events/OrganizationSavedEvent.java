@@ -0,0 +1,7 @@
+package com.vacancy.events;
+
+/**
+ * Организация создана или изменена.
+ */
+public record OrganizationSavedEvent(long id) {
+}
@@ -0,0 +1,7 @@
+package com.vacancy.events;
+
+/**
+ * Пользователь удален вместе с откликами и избранным (ON DELETE CASCADE).
+ */
+public record UserDeletedEvent(long id) {
+}
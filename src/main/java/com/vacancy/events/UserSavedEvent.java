@@ -0,0 +1,7 @@
+package com.vacancy.events;
+
+/**
+ * Пользователь создан или изменен.
+ */
+public record UserSavedEvent(long id) {
+}
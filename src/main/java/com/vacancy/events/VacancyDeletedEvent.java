@@ -0,0 +1,4 @@
+package com.vacancy.events;
+
+public record VacancyDeletedEvent(long id) {
+}
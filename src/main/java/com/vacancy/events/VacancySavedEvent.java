@@ -0,0 +1,22 @@
+package com.vacancy.events;
+
+import com.vacancy.model.entities.Vacancy;
+
+/**
+ * Вакансия создана или изменена. Содержит снимок полей, чтобы слушатели
+ * после коммита не обращались к сущности вне сессии.
+ */
+public record VacancySavedEvent(long id, String description, String longDescription,
+                                Integer minSalary, Integer maxSalary, String city, Long organizationId) {
+
+    public static VacancySavedEvent of(Vacancy vacancy) {
+        return new VacancySavedEvent(
+                vacancy.getId(),
+                vacancy.getDescription(),
+                vacancy.getLongDescription(),
+                vacancy.getMinSalary(),
+                vacancy.getMaxSalary(),
+                vacancy.getCity(),
+                vacancy.getOrganization() == null ? null : vacancy.getOrganization().getId());
+    }
+}
@@ -3,12 +3,18 @@ package com.vacancy.exceptions;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import jakarta.persistence.OptimisticLockException;
 import lombok.extern.slf4j.Slf4j;
 
 @RestControllerAdvice
@@ -33,6 +39,25 @@ public class GlobalExceptionHandler {
         return e.responseEntity();
     }
 
+    // две записи одной версии сущности: вторая проиграла проверку @Version при UPDATE.
+    // entityManager.flush() в сервисах не переводит исключения Spring, поэтому jakarta-исключение ловится отдельно
+    @ExceptionHandler({OptimisticLockingFailureException.class, OptimisticLockException.class})
+    public ResponseEntity<Map<String, String>> handleOptimisticLockingFailure(RuntimeException e) {
+        log.warn("Concurrent update: {}", e.getMessage());
+        return new RequestException(HttpStatus.CONFLICT, "Ресурс одновременно изменен другим запросом, повторите").responseEntity();
+    }
+
+    // соединение не получено: занят пул (или очередь допуска в режиме виртуальных потоков), либо база недоступна
+    @ExceptionHandler({CannotCreateTransactionException.class, CannotGetJdbcConnectionException.class})
+    public ResponseEntity<Map<String, String>> handleConnectionUnavailable(RuntimeException e) {
+        log.warn("Database connection unavailable: {}", e.getMessage());
+        ResponseEntity<Map<String, String>> entity = new RequestException(HttpStatus.SERVICE_UNAVAILABLE,
+                "База данных перегружена, повторите запрос позже").responseEntity();
+        return ResponseEntity.status(entity.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(entity.getBody());
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<String> handleRuntimeException(RuntimeException e) {
         log.error("Runtime error: {}", e.getMessage());
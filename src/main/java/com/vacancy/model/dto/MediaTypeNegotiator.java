@@ -0,0 +1,62 @@
+package com.vacancy.model.dto;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import com.vacancy.exceptions.RequestException;
+
+/**
+ * Выбор варианта ответа по заголовку Accept с учетом q: побеждает тип с наибольшим q, при равном q
+ * точный тип важнее шаблона вида application/*. Шаблон достается первому подходящему варианту
+ * в порядке offered. Некорректный заголовок - 400, ни один вариант не подходит - 406.
+ */
+public final class MediaTypeNegotiator {
+
+    private MediaTypeNegotiator() {
+    }
+
+    /**
+     * @param offered типы вариантов в порядке предпочтения; у одного варианта может быть несколько типов
+     * @param fallback вариант для пустого заголовка
+     */
+    public static <T> T negotiate(String accept, Map<MediaType, T> offered, T fallback, String notAcceptable) {
+        if (accept == null || accept.isBlank()) {
+            return fallback;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            throw new RequestException(HttpStatus.BAD_REQUEST, "Некорректный заголовок Accept");
+        }
+        T best = null;
+        double bestQuality = 0;
+        boolean bestExact = false;
+        for (MediaType mediaType : accepted) {
+            double quality = mediaType.getQualityValue();
+            if (quality <= 0) {
+                continue;
+            }
+            for (Map.Entry<MediaType, T> option : offered.entrySet()) {
+                if (!mediaType.includes(option.getKey())) {
+                    continue;
+                }
+                boolean exact = !mediaType.isWildcardType() && !mediaType.isWildcardSubtype();
+                if (best == null || quality > bestQuality || (quality == bestQuality && exact && !bestExact)) {
+                    best = option.getValue();
+                    bestQuality = quality;
+                    bestExact = exact;
+                }
+                break;
+            }
+        }
+        if (best == null) {
+            throw new RequestException(HttpStatus.NOT_ACCEPTABLE, notAcceptable);
+        }
+        return best;
+    }
+}
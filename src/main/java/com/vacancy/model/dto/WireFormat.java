@@ -0,0 +1,57 @@
+package com.vacancy.model.dto;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.http.MediaType;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * Кодировки ответов с DTO: JSON по умолчанию и компактные бинарные CBOR и Smile с той же
+ * структурой и теми же snake_case именами полей. Выбирается по заголовку Accept.
+ */
+public enum WireFormat {
+    JSON(MediaType.APPLICATION_JSON),
+    CBOR(MediaType.APPLICATION_CBOR),
+    SMILE(new MediaType("application", "x-jackson-smile"));
+
+    private static final Map<MediaType, WireFormat> OFFERED = new LinkedHashMap<>();
+
+    static {
+        for (WireFormat format : values()) {
+            OFFERED.put(format.mediaType, format);
+        }
+    }
+
+    private final MediaType mediaType;
+
+    WireFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * ObjectMapper для формата с настройками JSON-маппера приложения (модули, даты, именование).
+     */
+    public ObjectMapper mapper(ObjectMapper json) {
+        return switch (this) {
+            case JSON -> json;
+            case CBOR -> json.copyWith(new CBORFactory());
+            case SMILE -> json.copyWith(new SmileFactory());
+        };
+    }
+
+    /**
+     * Формат с наибольшим q из Accept (см. {@link MediaTypeNegotiator}). Без заголовка и для *&#47;* - JSON.
+     */
+    public static WireFormat negotiate(String accept) {
+        return MediaTypeNegotiator.negotiate(accept, OFFERED, JSON,
+                "Поддерживаются только форматы application/json, application/cbor и application/x-jackson-smile");
+    }
+}
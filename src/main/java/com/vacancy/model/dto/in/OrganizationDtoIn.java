@@ -4,6 +4,8 @@ package com.vacancy.model.dto.in;
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.databind.annotation.JsonNaming;
 
+import com.vacancy.model.entities.Organization;
+
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -25,5 +27,8 @@ public class OrganizationDtoIn {
     @Email(message = "Email должен иметь правильный формат")
     @Size(max = 100, message = "Email не может превышать 100 символов")
     private String email;
-    
+
+    public Organization toEntity() {
+        return new Organization(nickname, email);
+    }
 }
@@ -3,6 +3,8 @@ package com.vacancy.model.dto.in;
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.databind.annotation.JsonNaming;
 
+import com.vacancy.model.entities.User;
+
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -27,4 +29,9 @@ public class UserDtoIn {
     @Size(max = 512, message = "CV Link не может превышать 512 символов")
     private String cvLink;
 
+    public User toEntity() {
+        User user = new User(nickname, email);
+        user.setCvLink(cvLink);
+        return user;
+    }
 }
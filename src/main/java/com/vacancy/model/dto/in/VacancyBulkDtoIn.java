@@ -0,0 +1,20 @@
+package com.vacancy.model.dto.in;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+
+@Data
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class VacancyBulkDtoIn {
+
+    @NotEmpty(message = "Список вакансий не может быть пустым")
+    @Size(max = 10000, message = "За один запрос можно опубликовать не более 10000 вакансий")
+    private List<@Valid VacancyDtoIn> vacancies;
+}
@@ -3,6 +3,8 @@ package com.vacancy.model.dto.in;
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.databind.annotation.JsonNaming;
 
+import com.vacancy.model.entities.Vacancy;
+
 import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
@@ -39,4 +41,15 @@ public class VacancyDtoIn {
     boolean isSalaryRangeValid() {
         return this.minSalary != null && this.maxSalary != null && this.minSalary <= this.maxSalary;
     }
+
+    /**
+     * organizationId не переносится: организацию вакансии задает сервис по пути запроса.
+     */
+    public Vacancy toEntity() {
+        Vacancy vacancy = new Vacancy(description, longDescription);
+        vacancy.setMinSalary(minSalary);
+        vacancy.setMaxSalary(maxSalary);
+        vacancy.setCity(city);
+        return vacancy;
+    }
 }
@@ -0,0 +1,25 @@
+package com.vacancy.model.dto.out;
+
+import java.time.Instant;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Data
+public class FavoriteVacancyDtoOut {
+    private Long id;
+    private String description;
+    private Integer minSalary;
+    private Integer maxSalary;
+    private String city;
+    private Long organizationId;
+    private Instant addedAt;
+}
@@ -1,8 +1,12 @@
 package com.vacancy.model.dto.out;
 
+import java.time.Instant;
+
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.databind.annotation.JsonNaming;
 
+import com.vacancy.model.entities.Organization;
+
 import lombok.AccessLevel;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -15,4 +19,19 @@ public class OrganizationDtoOut {
     private Long id;
     private String nickname;
     private String email;
+    private long responseCount;
+    private long favoriteCount;
+    private Instant updatedAt;
+
+    /**
+     * Счетчики остаются нулевыми: их заполняет контроллер из VacancyCounterService.
+     */
+    public static OrganizationDtoOut of(Organization organization) {
+        OrganizationDtoOut dto = new OrganizationDtoOut();
+        dto.id = organization.getId();
+        dto.nickname = organization.getNickname();
+        dto.email = organization.getEmail();
+        dto.updatedAt = organization.getUpdatedAt();
+        return dto;
+    }
 }
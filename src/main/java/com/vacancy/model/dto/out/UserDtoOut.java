@@ -1,8 +1,12 @@
 package com.vacancy.model.dto.out;
 
+import java.time.Instant;
+
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.databind.annotation.JsonNaming;
 
+import com.vacancy.model.entities.User;
+
 import lombok.AccessLevel;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -16,4 +20,15 @@ public class UserDtoOut {
     private String nickname;
     private String email;
     private String cvLink;
+    private Instant updatedAt;
+
+    public static UserDtoOut of(User user) {
+        UserDtoOut dto = new UserDtoOut();
+        dto.id = user.getId();
+        dto.nickname = user.getNickname();
+        dto.email = user.getEmail();
+        dto.cvLink = user.getCvLink();
+        dto.updatedAt = user.getUpdatedAt();
+        return dto;
+    }
 }
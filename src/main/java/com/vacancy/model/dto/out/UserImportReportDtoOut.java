@@ -0,0 +1,33 @@
+package com.vacancy.model.dto.out;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+import lombok.Data;
+
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+@Data
+public class UserImportReportDtoOut {
+    private int total;
+    private int created;
+    private int duplicates;
+    private int invalid;
+    private int failed;
+    // причина, по которой чтение прервано; записи до нее уже обработаны и перечислены в rows
+    private String error;
+    private List<UserImportRowDtoOut> rows = new ArrayList<>();
+
+    public void add(UserImportRowDtoOut row) {
+        rows.add(row);
+        total++;
+        switch (row.getStatus()) {
+            case CREATED -> created++;
+            case DUPLICATE -> duplicates++;
+            case INVALID -> invalid++;
+            case FAILED -> failed++;
+        }
+    }
+}
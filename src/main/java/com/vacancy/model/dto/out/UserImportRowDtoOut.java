@@ -0,0 +1,29 @@
+package com.vacancy.model.dto.out;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Data
+public class UserImportRowDtoOut {
+
+    public enum Status {
+        CREATED,
+        DUPLICATE, // email уже зарегистрирован или повторяется в загружаемых данных
+        INVALID,
+        FAILED
+    }
+
+    private int row; // номер записи начиная с 1, для CSV без учета заголовка
+    private String email;
+    private Status status;
+    private Long id;
+    private String error;
+}
@@ -5,15 +5,25 @@ import java.time.OffsetDateTime;
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.databind.annotation.JsonNaming;
 
+import com.vacancy.model.entities.UserVacancyResponse;
+
 import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
 @Data
 public class UserVacancyResponseDtoOut {
     private Long userId;
     private Long vacancyId;
     private OffsetDateTime responseDate;
+
+    // id связанных сущностей берутся из ленивых прокси без их загрузки
+    public static UserVacancyResponseDtoOut of(UserVacancyResponse response) {
+        return new UserVacancyResponseDtoOut(response.getUser().getId(), response.getVacancy().getId(),
+                response.getResponseDate());
+    }
 }
@@ -1,8 +1,12 @@
 package com.vacancy.model.dto.out;
 
+import java.time.Instant;
+
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 import com.fasterxml.jackson.databind.annotation.JsonNaming;
 
+import com.vacancy.model.entities.Vacancy;
+
 import lombok.AccessLevel;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -17,5 +21,22 @@ public class VacancyDtoOut {
     private Integer minSalary;
     private Integer maxSalary;
     private String city;
-}
+    private long responseCount;
+    private long favoriteCount;
+    private Instant updatedAt;
 
+    /**
+     * Счетчики остаются нулевыми: их заполняет контроллер из VacancyCounterService.
+     */
+    public static VacancyDtoOut of(Vacancy vacancy) {
+        VacancyDtoOut dto = new VacancyDtoOut();
+        dto.id = vacancy.getId();
+        dto.description = vacancy.getDescription();
+        dto.longDescription = vacancy.getLongDescription();
+        dto.minSalary = vacancy.getMinSalary();
+        dto.maxSalary = vacancy.getMaxSalary();
+        dto.city = vacancy.getCity();
+        dto.updatedAt = vacancy.getUpdatedAt();
+        return dto;
+    }
+}
@@ -0,0 +1,22 @@
+package com.vacancy.model.dto.out;
+
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import com.vacancy.model.search.SalaryBucket;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@AllArgsConstructor
+@Data
+public class VacancyFacetsDtoOut {
+    private Map<String, Integer> cities;
+    private Map<SalaryBucket, Integer> salaryBuckets;
+    private Map<Long, Integer> organizations;
+}
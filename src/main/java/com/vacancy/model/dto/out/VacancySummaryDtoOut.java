@@ -0,0 +1,23 @@
+package com.vacancy.model.dto.out;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import com.vacancy.model.search.VacancySummary;
+
+/**
+ * Краткое представление вакансии для списков, без подробного описания.
+ */
+@JsonNaming(PropertyNamingStrategies.SnakeCaseStrategy.class)
+public record VacancySummaryDtoOut(
+        Long id,
+        String description,
+        Integer minSalary,
+        Integer maxSalary,
+        String city,
+        Long organizationId) {
+
+    public static VacancySummaryDtoOut of(VacancySummary summary) {
+        return new VacancySummaryDtoOut(summary.id(), summary.description(), summary.minSalary(),
+                summary.maxSalary(), summary.city(), summary.organizationId());
+    }
+}
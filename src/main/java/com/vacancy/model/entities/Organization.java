@@ -9,8 +9,12 @@ import lombok.AccessLevel;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UpdateTimestamp;
 import org.jetbrains.annotations.NotNull;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -20,6 +24,8 @@ import java.util.List;
 @RequiredArgsConstructor
 @Entity
 @Table(name = "organization")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Organization {
 
     @Id
@@ -37,7 +43,15 @@ public class Organization {
     @Size(max = 100, message = "Email не может превышать 100 символов")
     private @NotNull String email;
 
-    @OneToMany(mappedBy = "organization", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    // добавление и изменение вакансий версию организации не меняет: у каждой вакансии своя
+    @Version
+    private Long version;
+
+    @UpdateTimestamp
+    private Instant updatedAt;
+
+    // без каскада на стороне JPA: вакансии удаляет ON DELETE CASCADE в базе (OrganizationRepository.deleteOrganization)
+    @OneToMany(mappedBy = "organization", fetch = FetchType.LAZY)
     private @NotNull List<Vacancy> publishedVacancies = new ArrayList<>(); // созданные вакансии
 
 }
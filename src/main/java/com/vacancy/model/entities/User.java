@@ -7,9 +7,13 @@ import lombok.AccessLevel;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UpdateTimestamp;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -19,10 +23,13 @@ import java.util.List;
 @RequiredArgsConstructor
 @Entity
 @Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_id_seq")
+    @SequenceGenerator(name = "users_id_seq", sequenceName = "users_id_seq", allocationSize = 50)
     private long id;
 
     @Column(nullable = false, length = 50)
@@ -40,8 +47,16 @@ public class User {
     @Size(max = 512, message = "CV Link не может превышать 512 символов")
     private @Nullable String cvLink;
 
+    // сверяется с If-Match в PUT /api/users/{id}
+    @Version
+    private Long version;
+
+    @UpdateTimestamp
+    private Instant updatedAt;
+
+    // порядок не отображается: строки упорядочены по user_favorites.added_at (VacancyRepository.findFavoritesAfter),
+    // добавление и удаление идут одиночными запросами VacancyRepository.insertFavorite/deleteFavorite
     @ManyToMany(fetch = FetchType.LAZY)
-    @OrderColumn(name = "list_index")
     @JoinTable(
             name = "user_favorites",
             joinColumns = @JoinColumn(name = "user_id"),
@@ -49,7 +64,8 @@ public class User {
     )
     private @NotNull List<Vacancy> favoriteList = new ArrayList<>(); // избранное
 
-    @OneToMany(mappedBy = "user", orphanRemoval = true, fetch = FetchType.LAZY)
+    // отклики удаляет ON DELETE CASCADE в базе (UserRepository.deleteUser)
+    @OneToMany(mappedBy = "user", fetch = FetchType.LAZY)
     private @NotNull List<UserVacancyResponse> responses = new ArrayList<>(); // отклики с деталями
 
 }
@@ -0,0 +1,51 @@
+package com.vacancy.model.export;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.http.MediaType;
+
+import com.vacancy.model.dto.MediaTypeNegotiator;
+
+/**
+ * Форматы выгрузки. CBOR - последовательность объектов CBOR (RFC 8742), SMILE - поток значений Smile
+ * с одним заголовком; поля и их имена те же, что в NDJSON.
+ */
+public enum VacancyExportFormat {
+    NDJSON(MediaType.parseMediaType("application/x-ndjson")),
+    CSV(MediaType.parseMediaType("text/csv;charset=UTF-8")),
+    CBOR(MediaType.parseMediaType("application/cbor-seq")),
+    SMILE(MediaType.parseMediaType("application/x-jackson-smile"));
+
+    private static final Map<MediaType, VacancyExportFormat> OFFERED = new LinkedHashMap<>();
+
+    static {
+        for (VacancyExportFormat format : values()) {
+            OFFERED.put(format.mediaType, format);
+        }
+        OFFERED.put(MediaType.APPLICATION_CBOR, CBOR);
+    }
+
+    private final MediaType mediaType;
+
+    VacancyExportFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public boolean isBinary() {
+        return this == CBOR || this == SMILE;
+    }
+
+    /**
+     * Формат по Accept с учетом q, как у {@link com.vacancy.model.dto.WireFormat#negotiate}.
+     * Без заголовка и для *&#47;* - NDJSON; для CBOR подходит и application/cbor.
+     */
+    public static VacancyExportFormat fromAccept(String accept) {
+        return MediaTypeNegotiator.negotiate(accept, OFFERED, NDJSON,
+                "Поддерживаются только форматы application/x-ndjson, text/csv, application/cbor-seq и application/x-jackson-smile");
+    }
+}
@@ -0,0 +1,116 @@
+package com.vacancy.model.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+
+import org.springframework.http.HttpStatus;
+
+import com.vacancy.exceptions.RequestException;
+
+/**
+ * Непрозрачный курсор для keyset-пагинации.
+ * Клиент получает его в заголовке X-Next-Cursor и передает обратно в параметре after.
+ */
+public final class Cursor {
+
+    private static final String PREFIX = "id:";
+    private static final String RANKED_PREFIX = "rank:";
+    private static final String TIMED_PREFIX = "at:";
+
+    /**
+     * Позиция в выдаче, упорядоченной по (rank DESC, id DESC).
+     */
+    public record Ranked(float rank, long id) {
+        public static final Ranked START = new Ranked(Float.MAX_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * Позиция в выдаче, упорядоченной по (время, id) по возрастанию.
+     */
+    public record Timed(Instant at, long id) {
+        public static final Timed START = new Timed(Instant.EPOCH, 0L);
+    }
+
+    private Cursor() {
+    }
+
+    public static String encode(long id) {
+        return toBase64(PREFIX + id);
+    }
+
+    public static String encode(float rank, long id) {
+        // ранг передается побитово, чтобы сравнение в SQL было точным
+        return toBase64(RANKED_PREFIX + Float.floatToIntBits(rank) + ":" + id);
+    }
+
+    public static String encode(Instant at, long id) {
+        // timestamptz в Postgres хранит микросекунды, этой точности достаточно для точного сравнения
+        return toBase64(TIMED_PREFIX + ChronoUnit.MICROS.between(Instant.EPOCH, at) + ":" + id);
+    }
+
+    /**
+     * Пустой курсор означает начало выборки.
+     */
+    public static long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            String raw = fromBase64(cursor);
+            if (!raw.startsWith(PREFIX)) {
+                throw new IllegalArgumentException(raw);
+            }
+            return Long.parseLong(raw.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new RequestException(HttpStatus.BAD_REQUEST, "Некорректный курсор");
+        }
+    }
+
+    public static Ranked decodeRanked(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return Ranked.START;
+        }
+        try {
+            String raw = fromBase64(cursor);
+            if (!raw.startsWith(RANKED_PREFIX)) {
+                throw new IllegalArgumentException(raw);
+            }
+            String[] parts = raw.substring(RANKED_PREFIX.length()).split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException(raw);
+            }
+            return new Ranked(Float.intBitsToFloat(Integer.parseInt(parts[0])), Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException e) {
+            throw new RequestException(HttpStatus.BAD_REQUEST, "Некорректный курсор");
+        }
+    }
+
+    public static Timed decodeTimed(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return Timed.START;
+        }
+        try {
+            String raw = fromBase64(cursor);
+            if (!raw.startsWith(TIMED_PREFIX)) {
+                throw new IllegalArgumentException(raw);
+            }
+            String[] parts = raw.substring(TIMED_PREFIX.length()).split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException(raw);
+            }
+            return new Timed(Instant.EPOCH.plus(Long.parseLong(parts[0]), ChronoUnit.MICROS), Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException e) {
+            throw new RequestException(HttpStatus.BAD_REQUEST, "Некорректный курсор");
+        }
+    }
+
+    private static String toBase64(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String fromBase64(String cursor) {
+        return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+    }
+}
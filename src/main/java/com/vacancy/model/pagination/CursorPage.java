@@ -0,0 +1,31 @@
+package com.vacancy.model.pagination;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Страница keyset-выборки. nextCursor равен null, если дальше записей нет.
+ */
+public record CursorPage<T>(List<T> content, String nextCursor) {
+
+    /**
+     * Собирает страницу из выборки размером size + 1: лишняя запись
+     * только сигнализирует о наличии следующей страницы.
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int size, ToLongFunction<T> idExtractor) {
+        return withCursor(rows, size, row -> Cursor.encode(idExtractor.applyAsLong(row)));
+    }
+
+    public static <T> CursorPage<T> withCursor(List<T> rows, int size, Function<T, String> cursorFactory) {
+        if (rows.size() <= size) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> content = rows.subList(0, size);
+        return new CursorPage<>(content, cursorFactory.apply(content.get(size - 1)));
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,15 @@
+package com.vacancy.model.pagination;
+
+/**
+ * Страница списка, уже сериализованная в одном из {@link com.vacancy.model.dto.WireFormat} и,
+ * для кешируемых страниц, сжатая gzip.
+ * Для keyset-страниц заполнен nextCursor (null на последней), для постраничной выдачи - hasNext.
+ * totalCount - значение X-Total-Count, посчитанное вместе со страницей; null, если заголовок не отдается.
+ * Массивы не копируются и не должны изменяться: их пишут в ответ как есть.
+ */
+public record SerializedPage(byte[] body, byte[] gzip, Boolean hasNext, String nextCursor, Long totalCount) {
+
+    public int weight() {
+        return body.length + (gzip == null ? 0 : gzip.length);
+    }
+}
@@ -0,0 +1,16 @@
+package com.vacancy.model.search;
+
+import java.time.Instant;
+
+/**
+ * Вакансия из избранного пользователя в кратком виде (см. VacancyRepository.findFavoritesAfter).
+ */
+public interface FavoriteVacancy {
+    Long getId();
+    String getDescription();
+    Integer getMinSalary();
+    Integer getMaxSalary();
+    String getCity();
+    Long getOrganizationId();
+    Instant getAddedAt();
+}
@@ -0,0 +1,43 @@
+package com.vacancy.model.search;
+
+/**
+ * Диапазоны зарплаты для фасета. Вакансия попадает в диапазон по верхней границе вилки,
+ * а если она не указана - по нижней. from включается, to нет.
+ */
+public enum SalaryBucket {
+    UNDER_50K(null, 50_000),
+    FROM_50K_TO_100K(50_000, 100_000),
+    FROM_100K_TO_150K(100_000, 150_000),
+    FROM_150K_TO_250K(150_000, 250_000),
+    FROM_250K(250_000, null),
+    NOT_SPECIFIED(null, null);
+
+    private final Integer from;
+    private final Integer to;
+
+    SalaryBucket(Integer from, Integer to) {
+        this.from = from;
+        this.to = to;
+    }
+
+    public Integer getFrom() {
+        return from;
+    }
+
+    public Integer getTo() {
+        return to;
+    }
+
+    public static SalaryBucket of(Integer minSalary, Integer maxSalary) {
+        Integer salary = maxSalary != null ? maxSalary : minSalary;
+        if (salary == null) {
+            return NOT_SPECIFIED;
+        }
+        for (SalaryBucket bucket : values()) {
+            if (bucket != NOT_SPECIFIED && (bucket.to == null || salary < bucket.to)) {
+                return bucket;
+            }
+        }
+        throw new IllegalStateException("No bucket for salary " + salary);
+    }
+}
@@ -0,0 +1,21 @@
+package com.vacancy.model.search;
+
+/**
+ * Условия поиска вакансий. Пустые поля не участвуют в фильтрации.
+ * minSalary и maxSalary задают диапазон, который должен пересекаться с вилкой вакансии.
+ * С minSalary не находятся вакансии без верхней границы вилки, с maxSalary - без нижней.
+ */
+public record VacancyFilter(String city, Integer minSalary, Integer maxSalary, Long organizationId, VacancySort sort) {
+
+    public static final VacancyFilter NONE = new VacancyFilter(null, null, null, null, VacancySort.ID);
+
+    public VacancyFilter {
+        if (sort == null) {
+            sort = VacancySort.ID;
+        }
+    }
+
+    public boolean hasCriteria() {
+        return city != null || minSalary != null || maxSalary != null || organizationId != null;
+    }
+}
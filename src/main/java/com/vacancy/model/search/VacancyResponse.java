@@ -0,0 +1,13 @@
+package com.vacancy.model.search;
+
+import java.time.Instant;
+
+/**
+ * Отклик на вакансию без загрузки сущностей (см. UserVacancyResponseRepository.findByVacancyAfter).
+ */
+public interface VacancyResponse {
+    Long getId();
+    Long getUserId();
+    Long getVacancyId();
+    Instant getResponseDate();
+}
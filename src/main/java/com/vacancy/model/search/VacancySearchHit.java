@@ -0,0 +1,15 @@
+package com.vacancy.model.search;
+
+/**
+ * Строка результата полнотекстового поиска (см. VacancyRepository.searchByText).
+ */
+public interface VacancySearchHit {
+    Long getId();
+    String getDescription();
+    Integer getMinSalary();
+    Integer getMaxSalary();
+    String getCity();
+    Long getOrganizationId();
+    Float getRank();
+    String getSnippet();
+}
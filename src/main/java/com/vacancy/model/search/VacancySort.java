@@ -0,0 +1,23 @@
+package com.vacancy.model.search;
+
+import org.springframework.data.domain.Sort;
+
+public enum VacancySort {
+    ID(Sort.by(Sort.Order.asc("id"))),
+    ID_DESC(Sort.by(Sort.Order.desc("id"))),
+    /**
+     * По убыванию максимальной зарплаты, вакансии без указанной зарплаты идут в конце.
+     * Сортировка не меняет состав выборки.
+     */
+    SALARY_DESC(Sort.by(Sort.Order.desc("maxSalary").nullsLast(), Sort.Order.asc("id")));
+
+    private final Sort sort;
+
+    VacancySort(Sort sort) {
+        this.sort = sort;
+    }
+
+    public Sort toSort() {
+        return sort;
+    }
+}
@@ -0,0 +1,14 @@
+package com.vacancy.model.search;
+
+/**
+ * Вакансия без подробного описания для списков (см. VacancyRepositoryCustom.findSummaries).
+ * Заполняется напрямую в запросе, поэтому long_description не читается из базы.
+ */
+public record VacancySummary(
+        Long id,
+        String description,
+        Integer minSalary,
+        Integer maxSalary,
+        String city,
+        Long organizationId) {
+}
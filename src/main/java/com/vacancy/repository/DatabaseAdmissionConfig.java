@@ -0,0 +1,45 @@
+package com.vacancy.repository;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * В режиме виртуальных потоков (spring.threads.virtual.enabled на Java 21) оборачивает пул Hikari
+ * в {@link AdmissionControlDataSource}. На платформенных потоках число ждущих соединение и так
+ * ограничено пулом потоков Tomcat, и обертка не создается.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+@EnableConfigurationProperties(DatabaseAdmissionProperties.class)
+@Slf4j
+public class DatabaseAdmissionConfig {
+
+    @Bean
+    public static BeanPostProcessor databaseAdmissionPostProcessor(ObjectProvider<DatabaseAdmissionProperties> properties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof HikariDataSource hikari)) {
+                    return bean;
+                }
+                DatabaseAdmissionProperties settings = properties.getObject();
+                int permits = settings.permits() != null ? settings.permits() : hikari.getMaximumPoolSize();
+                Duration timeout = settings.timeout() != null
+                        ? settings.timeout() : Duration.ofMillis(hikari.getConnectionTimeout());
+                log.info("Database admission control: {} permits, {} ms timeout", permits, timeout.toMillis());
+                return new AdmissionControlDataSource(hikari, permits, timeout);
+            }
+        };
+    }
+}
@@ -0,0 +1,16 @@
+package com.vacancy.repository;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Настройки ограничения числа потоков, одновременно ждущих соединение (vacancy.db-admission.*).
+ * Действуют только в режиме виртуальных потоков (spring.threads.virtual.enabled на Java 21).
+ *
+ * @param permits сколько потоков одновременно держат или получают соединение; по умолчанию - maximum-pool-size Hikari
+ * @param timeout сколько поток ждет допуска, прежде чем запрос завершится 503; по умолчанию - connection-timeout Hikari
+ */
+@ConfigurationProperties("vacancy.db-admission")
+public record DatabaseAdmissionProperties(Integer permits, Duration timeout) {
+}
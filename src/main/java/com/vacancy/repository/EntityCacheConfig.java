@@ -0,0 +1,35 @@
+package com.vacancy.repository;
+
+import java.net.URI;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+/**
+ * Кеш второго уровня Hibernate для Vacancy, User и Organization и кеш запросов на Caffeine через JCache.
+ * Размеры и время жизни регионов задаются в caffeine-jcache.conf. Менеджер кешей - отдельный бин,
+ * чтобы и Hibernate, и CacheStatisticsServiceImpl работали с одними и теми же кешами.
+ */
+@Configuration
+public class EntityCacheConfig {
+
+    public static final URI CONFIG_URI = URI.create("classpath:caffeine-jcache.conf");
+
+    @Bean(destroyMethod = "close")
+    public CacheManager entityCacheManager() {
+        return Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(CONFIG_URI, EntityCacheConfig.class.getClassLoader());
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheCustomizer(CacheManager entityCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+    }
+}
@@ -1,11 +1,47 @@
 package com.vacancy.repository;
 
 import com.vacancy.model.entities.Organization;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface OrganizationRepository extends CrudRepository<Organization, Long>, PagingAndSortingRepository<Organization, Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Organization findOrganizationByEmail(String email);
+    List<Organization> findByIdGreaterThanOrderByIdAsc(long id, Limit limit);
+
+    Slice<Organization> findAllBy(Pageable pageable);
+
+    // оценка числа строк по статистике Postgres, без полного прохода по таблице;
+    // до первого ANALYZE n_live_tup равен 0, такая оценка не возвращается
+    @Query(value = """
+            SELECT n_live_tup FROM pg_stat_user_tables
+            WHERE relid = 'organization'::regclass AND (last_analyze IS NOT NULL OR last_autoanalyze IS NOT NULL)
+            """, nativeQuery = true)
+    Optional<Long> estimateCount();
+
+    // вакансии, отклики и избранное удаляются каскадом в базе одним оператором, без загрузки сущностей;
+    // затронутые таблицы перечислены, чтобы Hibernate сбросил кеш только организаций и вакансий, а не весь
+    @Modifying(clearAutomatically = true)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "organization"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "vacancy"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_vacancy_response"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_favorites")
+    })
+    @Query(value = "DELETE FROM organization WHERE id = :id", nativeQuery = true)
+    int deleteOrganization(@Param("id") long id);
 }
\ No newline at end of file
@@ -2,12 +2,52 @@ package com.vacancy.repository;
 
 
 import com.vacancy.model.entities.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
 
 @Repository
 public interface UserRepository extends CrudRepository<User, Long>, PagingAndSortingRepository<User, Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     User findUserByEmail(String email);
+
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
+    List<User> findByIdGreaterThanOrderByIdAsc(long id, Limit limit);
+
+    Slice<User> findAllBy(Pageable pageable);
+
+    // оценка числа строк по статистике Postgres, без полного прохода по таблице;
+    // до первого ANALYZE n_live_tup равен 0, такая оценка не возвращается
+    @Query(value = """
+            SELECT n_live_tup FROM pg_stat_user_tables
+            WHERE relid = 'users'::regclass AND (last_analyze IS NOT NULL OR last_autoanalyze IS NOT NULL)
+            """, nativeQuery = true)
+    Optional<Long> estimateCount();
+
+    // отклики и избранное удаляются каскадом в базе одним оператором, без загрузки сущностей;
+    // затронутые таблицы перечислены, чтобы Hibernate сбросил кеш только пользователей, а не весь
+    @Modifying(clearAutomatically = true)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "users"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_vacancy_response"),
+            @QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_favorites")
+    })
+    @Query(value = "DELETE FROM users WHERE id = :id", nativeQuery = true)
+    int deleteUser(@Param("id") long id);
 }
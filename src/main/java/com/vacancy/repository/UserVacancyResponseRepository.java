@@ -1,9 +1,14 @@
 package com.vacancy.repository;
 
 import com.vacancy.model.entities.UserVacancyResponse;
+import com.vacancy.model.search.VacancyResponse;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,7 +21,36 @@ public interface UserVacancyResponseRepository extends CrudRepository<UserVacanc
     
     Optional<UserVacancyResponse> findByUserIdAndVacancyId(Long userId, Long vacancyId);
     
-    void deleteByUserIdAndVacancyId(Long userId, Long vacancyId);
+    long deleteByUserIdAndVacancyId(Long userId, Long vacancyId);
     
     boolean existsByUserIdAndVacancyId(Long userId, Long vacancyId);
+
+    // пусто - нет пользователя или вакансии; true - отклик создан, false - обновлена дата существующего
+    // (xmax = 0 только у строки, вставленной этим оператором)
+    @Query(value = """
+            INSERT INTO user_vacancy_response (user_id, vacancy_id, response_date)
+            SELECT u.id, v.id, now() FROM users u, vacancy v WHERE u.id = :userId AND v.id = :vacancyId
+            ON CONFLICT (user_id, vacancy_id) DO UPDATE SET response_date = EXCLUDED.response_date
+            RETURNING (xmax = 0)
+            """, nativeQuery = true)
+    Optional<Boolean> upsert(@Param("userId") long userId, @Param("vacancyId") long vacancyId);
+
+    @Query(value = "SELECT vacancy_id FROM user_vacancy_response WHERE user_id = :userId", nativeQuery = true)
+    List<Long> findVacancyIdsByUserId(@Param("userId") long userId);
+
+    // проверка принадлежности вакансии организации входит в тот же запрос;
+    // keyset по (response_date, id) идет по индексу user_vacancy_response_vacancy_date_idx (V7__user_vacancy_response_unique.sql)
+    @Query(value = """
+            SELECT r.id AS "id", r.user_id AS "userId", r.vacancy_id AS "vacancyId", r.response_date AS "responseDate"
+            FROM user_vacancy_response r JOIN vacancy v ON v.id = r.vacancy_id
+            WHERE r.vacancy_id = :vacancyId AND v.organization_id = :organizationId
+              AND (r.response_date, r.id) > (:afterAt, :afterId)
+            ORDER BY r.response_date, r.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<VacancyResponse> findByVacancyAfter(@Param("organizationId") long organizationId,
+                                             @Param("vacancyId") long vacancyId,
+                                             @Param("afterAt") Instant afterAt,
+                                             @Param("afterId") long afterId,
+                                             @Param("limit") int limit);
 }
\ No newline at end of file
@@ -2,11 +2,116 @@ package com.vacancy.repository;
 
 
 import com.vacancy.model.entities.Vacancy;
+import com.vacancy.model.search.FavoriteVacancy;
+import com.vacancy.model.search.VacancySearchHit;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 
 @Repository
-public interface VacancyRepository extends CrudRepository<Vacancy, Long>, PagingAndSortingRepository<Vacancy, Long> {
+public interface VacancyRepository extends CrudRepository<Vacancy, Long>, PagingAndSortingRepository<Vacancy, Long>, JpaSpecificationExecutor<Vacancy>, VacancyRepositoryCustom {
+    // оценка числа строк по статистике Postgres, без полного прохода по таблице;
+    // до первого ANALYZE n_live_tup равен 0, такая оценка не возвращается
+    @Query(value = """
+            SELECT n_live_tup FROM pg_stat_user_tables
+            WHERE relid = 'vacancy'::regclass AND (last_analyze IS NOT NULL OR last_autoanalyze IS NOT NULL)
+            """, nativeQuery = true)
+    Optional<Long> estimateCount();
+
+    int EXPORT_FETCH_SIZE = 1000;
+
+    // для выгрузки: драйвер Postgres читает результат порциями по fetch size только внутри транзакции.
+    // Полный проход не кладет строки в кеш второго уровня, чтобы не вытеснять из него часто читаемые вакансии
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("SELECT v FROM Vacancy v ORDER BY v.id")
+    Stream<Vacancy> streamAll();
+
+    // keyset по (added_at, vacancy_id) идет по индексу user_favorites_user_added_idx (V6__user_favorites_added_at.sql)
+    @Query(value = """
+            SELECT v.id AS "id", v.description AS "description", v.min_salary AS "minSalary", v.max_salary AS "maxSalary",
+                   v.city AS "city", v.organization_id AS "organizationId", f.added_at AS "addedAt"
+            FROM user_favorites f JOIN vacancy v ON v.id = f.vacancy_id
+            WHERE f.user_id = :userId
+              AND (f.added_at, f.vacancy_id) > (:afterAt, :afterId)
+            ORDER BY f.added_at, f.vacancy_id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<FavoriteVacancy> findFavoritesAfter(@Param("userId") long userId,
+                                             @Param("afterAt") Instant afterAt,
+                                             @Param("afterId") long afterId,
+                                             @Param("limit") int limit);
+
+    // 0 строк - вакансия уже в избранном либо нет пользователя или вакансии;
+    // clock_timestamp(), а не now(): несколько добавлений в одной транзакции сохраняют порядок.
+    // Без HINT_NATIVE_SPACES Hibernate считал бы затронутыми все таблицы и сбрасывал бы весь кеш второго уровня
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_favorites"))
+    @Query(value = """
+            INSERT INTO user_favorites (user_id, vacancy_id, added_at)
+            SELECT u.id, v.id, clock_timestamp() FROM users u, vacancy v WHERE u.id = :userId AND v.id = :vacancyId
+            ON CONFLICT DO NOTHING
+            """, nativeQuery = true)
+    int insertFavorite(@Param("userId") long userId, @Param("vacancyId") long vacancyId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_favorites"))
+    @Query(value = "DELETE FROM user_favorites WHERE user_id = :userId AND vacancy_id = :vacancyId", nativeQuery = true)
+    int deleteFavorite(@Param("userId") long userId, @Param("vacancyId") long vacancyId);
+
+    // count(*) с потолком: читает не больше limit записей индекса vacancy_organization_id_idx
+    @Query(value = "SELECT count(*) FROM (SELECT 1 FROM vacancy WHERE organization_id = :organizationId LIMIT :limit) v", nativeQuery = true)
+    long countByOrganizationIdUpTo(@Param("organizationId") long organizationId, @Param("limit") int limit);
+
+    @Query(value = "SELECT vacancy_id FROM user_favorites WHERE user_id = :userId", nativeQuery = true)
+    List<Long> findFavoriteVacancyIds(@Param("userId") long userId);
+
+    // загрузка поискового индекса при старте проходит всю таблицу; кеш второго уровня не трогается, как в streamAll
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE"))
+    @Query("SELECT v FROM Vacancy v LEFT JOIN FETCH v.organization WHERE v.id > :afterId ORDER BY v.id")
+    List<Vacancy> findBatchWithOrganization(@Param("afterId") long afterId, Limit limit);
+
+    // ранжированный поиск по search_vector (V3__vacancy_full_text_search.sql) с keyset-пагинацией по (rank, id);
+    // ts_headline считается во внешнем запросе только для строк текущей страницы.
+    // Описание экранируется как HTML до подсветки: в snippet нет другой разметки, кроме <b></b> вокруг совпадений
+    @Query(value = """
+            SELECT h.id AS "id", h.description AS "description", h.min_salary AS "minSalary", h.max_salary AS "maxSalary",
+                   h.city AS "city", h.organization_id AS "organizationId", h.rank AS "rank",
+                   ts_headline('russian',
+                               replace(replace(replace(replace(h.long_description,
+                                   '&', '&amp;'), '<', '&lt;'), '>', '&gt;'), '"', '&quot;'),
+                               h.query,
+                               'MaxFragments=2, MinWords=5, MaxWords=20, FragmentDelimiter=" ... "') AS "snippet"
+            FROM (
+                SELECT v.id, v.description, v.long_description, v.min_salary, v.max_salary, v.city, v.organization_id,
+                       q.query, ts_rank_cd(v.search_vector, q.query) AS rank
+                FROM vacancy v, websearch_to_tsquery('russian', :query) AS q(query)
+                WHERE v.search_vector @@ q.query
+                  AND (ts_rank_cd(v.search_vector, q.query), v.id) < (CAST(:afterRank AS real), :afterId)
+                ORDER BY rank DESC, v.id DESC
+                LIMIT :limit
+            ) h
+            ORDER BY h.rank DESC, h.id DESC
+            """, nativeQuery = true)
+    List<VacancySearchHit> searchByText(@Param("query") String query,
+                                        @Param("afterRank") float afterRank,
+                                        @Param("afterId") long afterId,
+                                        @Param("limit") int limit);
 }
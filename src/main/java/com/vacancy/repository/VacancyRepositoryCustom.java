@@ -0,0 +1,13 @@
+package com.vacancy.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.vacancy.model.entities.Vacancy;
+import com.vacancy.model.search.VacancySummary;
+
+public interface VacancyRepositoryCustom {
+    List<VacancySummary> findSummaries(Specification<Vacancy> spec, Sort sort, long offset, int limit);
+}
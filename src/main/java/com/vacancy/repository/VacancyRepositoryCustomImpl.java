@@ -0,0 +1,69 @@
+package com.vacancy.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.query.NullPrecedence;
+import org.hibernate.query.criteria.JpaOrder;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.vacancy.model.entities.Vacancy;
+import com.vacancy.model.search.VacancySummary;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Запросы списков вакансий с проекцией в конструктор: Hibernate выбирает только нужные колонки
+ * и не создает управляемых сущностей, в отличие от JpaSpecificationExecutor.findBy(..., q -> q.as(...)).
+ */
+public class VacancyRepositoryCustomImpl implements VacancyRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public List<VacancySummary> findSummaries(Specification<Vacancy> spec, Sort sort, long offset, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<VacancySummary> query = cb.createQuery(VacancySummary.class);
+        Root<Vacancy> root = query.from(Vacancy.class);
+        query.select(cb.construct(VacancySummary.class,
+                root.get("id"),
+                root.get("description"),
+                root.get("minSalary"),
+                root.get("maxSalary"),
+                root.get("city"),
+                root.get("organization").get("id")));
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(toOrders(sort, root, cb));
+        return entityManager.createQuery(query)
+                .setFirstResult(Math.toIntExact(offset))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    // QueryUtils.toOrders отказывается от NULLS FIRST/LAST в Criteria API, порядок NULL задается через Hibernate
+    private static List<Order> toOrders(Sort sort, Root<Vacancy> root, CriteriaBuilder cb) {
+        List<Order> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            Expression<?> path = root.get(order.getProperty());
+            JpaOrder jpaOrder = (JpaOrder) (order.isAscending() ? cb.asc(path) : cb.desc(path));
+            orders.add(switch (order.getNullHandling()) {
+                case NULLS_FIRST -> jpaOrder.nullPrecedence(NullPrecedence.FIRST);
+                case NULLS_LAST -> jpaOrder.nullPrecedence(NullPrecedence.LAST);
+                case NATIVE -> jpaOrder;
+            });
+        }
+        return orders;
+    }
+}
@@ -0,0 +1,48 @@
+package com.vacancy.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.vacancy.model.entities.Vacancy;
+import com.vacancy.model.search.VacancyFilter;
+
+import jakarta.persistence.criteria.Predicate;
+
+/**
+ * Условия строятся только для заданных полей фильтра, чтобы планировщик видел
+ * конкретный запрос и мог выбрать подходящий индекс (см. V2__vacancy_search_indexes.sql
+ * и V10__vacancy_salary_nulls_last.sql).
+ * <p>
+ * Условия по зарплате сравнивают с границей вилки напрямую: вакансия, у которой нужная граница
+ * не указана (NULL), в выборку с этим условием не попадает.
+ */
+public final class VacancySpecifications {
+
+    private VacancySpecifications() {
+    }
+
+    public static Specification<Vacancy> matching(VacancyFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (filter.city() != null) {
+                predicates.add(cb.equal(root.get("city"), filter.city()));
+            }
+            if (filter.minSalary() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("maxSalary"), filter.minSalary()));
+            }
+            if (filter.maxSalary() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("minSalary"), filter.maxSalary()));
+            }
+            if (filter.organizationId() != null) {
+                predicates.add(cb.equal(root.get("organization").get("id"), filter.organizationId()));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    public static Specification<Vacancy> idGreaterThan(long id) {
+        return (root, query, cb) -> cb.greaterThan(root.get("id"), id);
+    }
+}
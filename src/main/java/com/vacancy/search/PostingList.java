@@ -0,0 +1,39 @@
+package com.vacancy.search;
+
+import java.util.Arrays;
+
+/**
+ * Список вхождений терма: номера документов по возрастанию и частоты терма в них.
+ */
+final class PostingList {
+
+    int[] docs = new int[4];
+    int[] freqs = new int[4];
+    int size;
+
+    void add(int doc, int freq) {
+        if (size == docs.length) {
+            docs = Arrays.copyOf(docs, size << 1);
+            freqs = Arrays.copyOf(freqs, size << 1);
+        }
+        docs[size] = doc;
+        freqs[size] = freq;
+        size++;
+    }
+
+    /**
+     * Переписывает номера документов после уплотнения индекса; удаленные документы имеют remap = -1.
+     */
+    void remap(int[] remap) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            int doc = remap[docs[i]];
+            if (doc >= 0) {
+                docs[kept] = doc;
+                freqs[kept] = freqs[i];
+                kept++;
+            }
+        }
+        size = kept;
+    }
+}
@@ -0,0 +1,33 @@
+package com.vacancy.search;
+
+import java.util.function.Consumer;
+
+/**
+ * Простой анализатор: последовательности букв и цифр в нижнем регистре, ё приводится к е.
+ * Стемминга нет, поэтому разные словоформы считаются разными термами.
+ */
+final class Tokenizer {
+
+    private Tokenizer() {
+    }
+
+    static void tokenize(String text, Consumer<String> consumer) {
+        if (text == null) {
+            return;
+        }
+        StringBuilder token = new StringBuilder(16);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                c = Character.toLowerCase(c);
+                token.append(c == 'ё' ? 'е' : c);
+            } else if (!token.isEmpty()) {
+                consumer.accept(token.toString());
+                token.setLength(0);
+            }
+        }
+        if (!token.isEmpty()) {
+            consumer.accept(token.toString());
+        }
+    }
+}
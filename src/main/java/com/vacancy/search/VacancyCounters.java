@@ -0,0 +1,193 @@
+package com.vacancy.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Счетчики откликов и добавлений в избранное по вакансиям и по организациям.
+ * Чтение - один поиск в хеш-таблице, запись - LongAdder без блокировок.
+ * <p>
+ * Помимо итогов по каждой вакансии копятся приращения с последнего {@link #drain()},
+ * чтобы их можно было дописать в базу одной пачкой. Организация вакансии задается через
+ * {@link #setOrganization}; итоги организации - сумма итогов ее вакансий.
+ */
+public class VacancyCounters {
+
+    public record Counts(long responses, long favorites) {
+        public static final Counts ZERO = new Counts(0, 0);
+    }
+
+    /**
+     * Приращения по вакансии, еще не записанные в базу.
+     */
+    public record Delta(long vacancyId, long responses, long favorites) {
+    }
+
+    private static class Counter {
+        final LongAdder responses = new LongAdder();
+        final LongAdder favorites = new LongAdder();
+
+        Counts counts() {
+            return new Counts(responses.sum(), favorites.sum());
+        }
+    }
+
+    private static final class VacancyCounter extends Counter {
+        final LongAdder pendingResponses = new LongAdder();
+        final LongAdder pendingFavorites = new LongAdder();
+        volatile Long organizationId;
+    }
+
+    private final Map<Long, VacancyCounter> vacancies = new ConcurrentHashMap<>();
+    private final Map<Long, Counter> organizations = new ConcurrentHashMap<>();
+
+    /**
+     * Добавляет уже сохраненные в базе значения: они входят в итоги, но не в приращения.
+     */
+    public void load(long vacancyId, Long organizationId, long responses, long favorites) {
+        setOrganization(vacancyId, organizationId);
+        apply(counter(vacancyId), responses, favorites);
+    }
+
+    public void addResponses(long vacancyId, long delta) {
+        add(vacancyId, delta, 0);
+    }
+
+    public void addFavorites(long vacancyId, long delta) {
+        add(vacancyId, 0, delta);
+    }
+
+    /**
+     * Привязывает вакансию к организации и переносит ее итоги в итоги организации.
+     */
+    public void setOrganization(long vacancyId, Long organizationId) {
+        VacancyCounter counter = counter(vacancyId);
+        synchronized (counter) {
+            Long previous = counter.organizationId;
+            if (Objects.equals(previous, organizationId)) {
+                return;
+            }
+            Counts counts = counter.counts();
+            if (previous != null) {
+                addToOrganization(previous, -counts.responses(), -counts.favorites());
+            }
+            counter.organizationId = organizationId;
+            if (organizationId != null) {
+                addToOrganization(organizationId, counts.responses(), counts.favorites());
+            }
+        }
+    }
+
+    public Counts vacancy(long vacancyId) {
+        Counter counter = vacancies.get(vacancyId);
+        return counter == null ? Counts.ZERO : counter.counts();
+    }
+
+    public Counts organization(long organizationId) {
+        Counter counter = organizations.get(organizationId);
+        return counter == null ? Counts.ZERO : counter.counts();
+    }
+
+    public void removeVacancy(long vacancyId) {
+        VacancyCounter counter = vacancies.remove(vacancyId);
+        if (counter == null) {
+            return;
+        }
+        synchronized (counter) {
+            Long organizationId = counter.organizationId;
+            if (organizationId != null) {
+                Counts counts = counter.counts();
+                addToOrganization(organizationId, -counts.responses(), -counts.favorites());
+            }
+        }
+    }
+
+    public void removeOrganization(long organizationId) {
+        organizations.remove(organizationId);
+        vacancies.values().removeIf(counter -> Objects.equals(counter.organizationId, organizationId));
+    }
+
+    /**
+     * Забирает накопленные приращения и обнуляет их. Приращения, пришедшие во время вызова,
+     * попадут либо в этот результат, либо в следующий.
+     */
+    public List<Delta> drain() {
+        List<Delta> deltas = new ArrayList<>();
+        vacancies.forEach((vacancyId, counter) -> {
+            long responses = counter.pendingResponses.sumThenReset();
+            long favorites = counter.pendingFavorites.sumThenReset();
+            if (responses != 0 || favorites != 0) {
+                deltas.add(new Delta(vacancyId, responses, favorites));
+            }
+        });
+        return deltas;
+    }
+
+    /**
+     * Возвращает приращения, которые не удалось записать, чтобы они ушли со следующим {@link #drain()}.
+     */
+    public void restore(List<Delta> deltas) {
+        for (Delta delta : deltas) {
+            VacancyCounter counter = vacancies.get(delta.vacancyId());
+            if (counter != null) {
+                counter.pendingResponses.add(delta.responses());
+                counter.pendingFavorites.add(delta.favorites());
+            }
+        }
+    }
+
+    /**
+     * Выравнивает итоги вакансии по значениям из базы: итог = значение в базе + еще не записанные приращения.
+     * Так в память попадают приращения, которые записали другие экземпляры приложения.
+     * Вакансии, которых здесь нет (удалена или еще не известна), пропускаются.
+     */
+    public void reconcile(long vacancyId, long responses, long favorites) {
+        VacancyCounter counter = vacancies.get(vacancyId);
+        if (counter == null) {
+            return;
+        }
+        synchronized (counter) {
+            // add() идет без блокировки: приращение, пришедшее между чтениями, может сдвинуть итог на единицу
+            // до следующего выравнивания
+            long responsesDiff = responses + counter.pendingResponses.sum() - counter.responses.sum();
+            long favoritesDiff = favorites + counter.pendingFavorites.sum() - counter.favorites.sum();
+            if (responsesDiff != 0 || favoritesDiff != 0) {
+                apply(counter, responsesDiff, favoritesDiff);
+            }
+        }
+    }
+
+    public int size() {
+        return vacancies.size();
+    }
+
+    private void add(long vacancyId, long responses, long favorites) {
+        VacancyCounter counter = counter(vacancyId);
+        counter.pendingResponses.add(responses);
+        counter.pendingFavorites.add(favorites);
+        apply(counter, responses, favorites);
+    }
+
+    private void apply(VacancyCounter counter, long responses, long favorites) {
+        counter.responses.add(responses);
+        counter.favorites.add(favorites);
+        Long organizationId = counter.organizationId;
+        if (organizationId != null) {
+            addToOrganization(organizationId, responses, favorites);
+        }
+    }
+
+    private VacancyCounter counter(long vacancyId) {
+        return vacancies.computeIfAbsent(vacancyId, id -> new VacancyCounter());
+    }
+
+    private void addToOrganization(long organizationId, long responses, long favorites) {
+        Counter counter = organizations.computeIfAbsent(organizationId, id -> new Counter());
+        counter.responses.add(responses);
+        counter.favorites.add(favorites);
+    }
+}
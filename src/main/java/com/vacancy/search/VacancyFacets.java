@@ -0,0 +1,163 @@
+package com.vacancy.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.vacancy.model.search.SalaryBucket;
+
+/**
+ * Счетчики вакансий по городу, диапазону зарплаты и организации, которые обновляются при каждом изменении вакансии.
+ * Хранится число вакансий на каждое встреченное сочетание (город, диапазон, организация)
+ * и сочетание каждой вакансии, чтобы при изменении или удалении уменьшить старый счетчик.
+ * Подсчет фасетов проходит по сочетаниям, а не по вакансиям; сочетаний на порядки меньше.
+ */
+public class VacancyFacets {
+
+    /**
+     * Вакансии без города или организации в соответствующие фасеты не попадают.
+     */
+    public record Counts(Map<String, Integer> cities, Map<SalaryBucket, Integer> salaryBuckets,
+                         Map<Long, Integer> organizations) {
+    }
+
+    private record Combination(String city, SalaryBucket salaryBucket, Long organizationId) {
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final LongIntHashMap combinationByVacancyId = new LongIntHashMap();
+    private final Map<Combination, Integer> combinationIds = new HashMap<>();
+    private final List<Combination> combinations = new ArrayList<>();
+    private int[] counts = new int[64];
+
+    public void put(long vacancyId, Integer minSalary, Integer maxSalary, String city, Long organizationId) {
+        Combination combination = new Combination(city, SalaryBucket.of(minSalary, maxSalary), organizationId);
+        lock.writeLock().lock();
+        try {
+            int id = combinationIds.computeIfAbsent(combination, this::addCombination);
+            int previous = combinationByVacancyId.get(vacancyId);
+            if (previous == id) {
+                return;
+            }
+            if (previous != LongIntHashMap.MISSING) {
+                counts[previous]--;
+            }
+            counts[id]++;
+            combinationByVacancyId.put(vacancyId, id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean remove(long vacancyId) {
+        lock.writeLock().lock();
+        try {
+            int previous = combinationByVacancyId.remove(vacancyId);
+            if (previous == LongIntHashMap.MISSING) {
+                return false;
+            }
+            counts[previous]--;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Удаляет все вакансии организации, например после каскадного удаления в базе.
+     */
+    public int removeOrganization(long organizationId) {
+        lock.writeLock().lock();
+        try {
+            Long id = organizationId;
+            int removed = combinationByVacancyId.removeIf(c -> id.equals(combinations.get(c).organizationId()));
+            for (int c = 0; c < combinations.size(); c++) {
+                if (id.equals(combinations.get(c).organizationId())) {
+                    counts[c] = 0;
+                }
+            }
+            return removed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return combinationByVacancyId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            combinationByVacancyId.clear();
+            combinationIds.clear();
+            combinations.clear();
+            Arrays.fill(counts, 0);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Каждый фасет считается с учетом фильтров по остальным измерениям, но не по своему:
+     * при выбранном городе фасет городов показывает и другие города.
+     * Города и организации упорядочены по убыванию числа вакансий, диапазоны зарплаты - по возрастанию.
+     */
+    public Counts count(String city, Long organizationId) {
+        Map<String, Integer> cities = new HashMap<>();
+        Map<SalaryBucket, Integer> salaryBuckets = new EnumMap<>(SalaryBucket.class);
+        Map<Long, Integer> organizations = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            for (int c = 0; c < combinations.size(); c++) {
+                int count = counts[c];
+                if (count == 0) {
+                    continue;
+                }
+                Combination combination = combinations.get(c);
+                boolean cityMatches = city == null || city.equals(combination.city());
+                boolean organizationMatches = organizationId == null || organizationId.equals(combination.organizationId());
+                if (organizationMatches && combination.city() != null) {
+                    cities.merge(combination.city(), count, Integer::sum);
+                }
+                if (cityMatches && organizationMatches) {
+                    salaryBuckets.merge(combination.salaryBucket(), count, Integer::sum);
+                }
+                if (cityMatches && combination.organizationId() != null) {
+                    organizations.merge(combination.organizationId(), count, Integer::sum);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new Counts(byCountDescending(cities), salaryBuckets, byCountDescending(organizations));
+    }
+
+    private int addCombination(Combination combination) {
+        combinations.add(combination);
+        if (combinations.size() > counts.length) {
+            counts = Arrays.copyOf(counts, counts.length * 2);
+        }
+        return combinations.size() - 1;
+    }
+
+    private static <K extends Comparable<K>> Map<K, Integer> byCountDescending(Map<K, Integer> counts) {
+        Map<K, Integer> sorted = new LinkedHashMap<>();
+        counts.entrySet().stream()
+                .sorted(Map.Entry.<K, Integer>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .forEach(entry -> sorted.put(entry.getKey(), entry.getValue()));
+        return sorted;
+    }
+}
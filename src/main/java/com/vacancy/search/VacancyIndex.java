@@ -0,0 +1,459 @@
+package com.vacancy.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.vacancy.model.search.VacancyFilter;
+
+/**
+ * Встроенный инвертированный индекс по текстовым полям вакансий с ранжированием BM25
+ * и фильтрами по городу, вилке зарплаты и организации.
+ * <p>
+ * Документы хранятся в параллельных примитивных массивах, списки вхождений - в int[].
+ * Обновление вакансии помечает старый документ удаленным и добавляет новый;
+ * когда удаленных становится много, индекс уплотняется. Чтения идут параллельно под read-lock,
+ * изменения - под write-lock. Запрос не выделяет памяти пропорционально размеру индекса:
+ * курсоры по спискам вхождений и куча top-k переиспользуются в пределах потока.
+ */
+public class VacancyIndex {
+
+    public record Hit(long vacancyId, float score, String description,
+                      Integer minSalary, Integer maxSalary, String city, Long organizationId) {
+    }
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int COMPACT_THRESHOLD = 1024;
+
+    private static final int NO_SALARY = Integer.MIN_VALUE;
+    private static final long NO_ORGANIZATION = 0L;
+    private static final int NO_CITY = -1;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // рабочие массивы поиска берутся из небольшого общего пула, а не из ThreadLocal: виртуальные потоки
+    // живут один запрос, и привязанный к потоку буфер никогда не переиспользовался бы
+    private final BlockingQueue<Scratch> scratchPool =
+            new ArrayBlockingQueue<>(2 * Runtime.getRuntime().availableProcessors());
+
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Map<String, Integer> cityIds = new HashMap<>();
+    private final List<String> cities = new ArrayList<>();
+    private final LongIntHashMap docsByVacancyId = new LongIntHashMap();
+
+    private long[] vacancyIds = new long[INITIAL_CAPACITY];
+    private long[] organizationIds = new long[INITIAL_CAPACITY];
+    private int[] lengths = new int[INITIAL_CAPACITY];
+    private int[] minSalaries = new int[INITIAL_CAPACITY];
+    private int[] maxSalaries = new int[INITIAL_CAPACITY];
+    private int[] cityOf = new int[INITIAL_CAPACITY];
+    private String[] descriptions = new String[INITIAL_CAPACITY];
+    private long[] deleted = new long[INITIAL_CAPACITY >>> 6];
+
+    private int docCount;
+    private int liveCount;
+    private long totalLength;
+
+    /**
+     * Добавляет вакансию в индекс или заменяет ранее проиндексированную версию.
+     */
+    public void put(long vacancyId, String description, String longDescription,
+                    Integer minSalary, Integer maxSalary, String city, Long organizationId) {
+        Map<String, int[]> termFreqs = new HashMap<>();
+        int[] length = new int[1];
+        Tokenizer.tokenize(description, term -> {
+            termFreqs.computeIfAbsent(term, t -> new int[1])[0]++;
+            length[0]++;
+        });
+        Tokenizer.tokenize(longDescription, term -> {
+            termFreqs.computeIfAbsent(term, t -> new int[1])[0]++;
+            length[0]++;
+        });
+
+        lock.writeLock().lock();
+        try {
+            int previous = docsByVacancyId.get(vacancyId);
+            if (previous != LongIntHashMap.MISSING) {
+                markDeleted(previous);
+            }
+            int doc = docCount++;
+            ensureCapacity(docCount);
+            vacancyIds[doc] = vacancyId;
+            organizationIds[doc] = organizationId == null ? NO_ORGANIZATION : organizationId;
+            lengths[doc] = length[0];
+            minSalaries[doc] = minSalary == null ? NO_SALARY : minSalary;
+            maxSalaries[doc] = maxSalary == null ? NO_SALARY : maxSalary;
+            cityOf[doc] = city == null ? NO_CITY : cityId(city);
+            descriptions[doc] = description;
+            for (Map.Entry<String, int[]> entry : termFreqs.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), t -> new PostingList()).add(doc, entry.getValue()[0]);
+            }
+            docsByVacancyId.put(vacancyId, doc);
+            liveCount++;
+            totalLength += length[0];
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean remove(long vacancyId) {
+        lock.writeLock().lock();
+        try {
+            int doc = docsByVacancyId.remove(vacancyId);
+            if (doc == LongIntHashMap.MISSING) {
+                return false;
+            }
+            markDeleted(doc);
+            compactIfNeeded();
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Удаляет все вакансии организации, например после каскадного удаления в базе.
+     */
+    public int removeOrganization(long organizationId) {
+        lock.writeLock().lock();
+        try {
+            int removed = 0;
+            for (int doc = 0; doc < docCount; doc++) {
+                if (organizationIds[doc] == organizationId && !isDeleted(doc)) {
+                    docsByVacancyId.remove(vacancyIds[doc]);
+                    markDeleted(doc);
+                    removed++;
+                }
+            }
+            compactIfNeeded();
+            return removed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean contains(long vacancyId) {
+        lock.readLock().lock();
+        try {
+            return docsByVacancyId.get(vacancyId) != LongIntHashMap.MISSING;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            cityIds.clear();
+            cities.clear();
+            docsByVacancyId.clear();
+            Arrays.fill(descriptions, 0, docCount, null);
+            Arrays.fill(deleted, 0L);
+            docCount = 0;
+            liveCount = 0;
+            totalLength = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ищет вакансии, содержащие хотя бы один терм запроса, и возвращает их по убыванию BM25.
+     * Сортировка из фильтра не учитывается: порядок всегда по релевантности.
+     */
+    public List<Hit> search(String query, VacancyFilter filter, int offset, int limit) {
+        List<String> terms = new ArrayList<>(4);
+        Tokenizer.tokenize(query, term -> {
+            if (!terms.contains(term)) {
+                terms.add(term);
+            }
+        });
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            if (liveCount == 0) {
+                return List.of();
+            }
+            int city = NO_CITY;
+            if (filter.city() != null) {
+                Integer id = cityIds.get(filter.city());
+                if (id == null) {
+                    return List.of();
+                }
+                city = id;
+            }
+
+            Scratch pooled = scratchPool.poll();
+            Scratch s = pooled != null ? pooled : new Scratch();
+            s.ensure(terms.size(), offset + limit);
+            int lists = 0;
+            for (String term : terms) {
+                PostingList list = postings.get(term);
+                if (list == null) {
+                    continue;
+                }
+                // в size входят и удаленные документы, поэтому df ограничиваем сверху
+                int df = Math.min(list.size, liveCount);
+                s.lists[lists] = list;
+                s.idfs[lists] = (float) Math.log(1 + (liveCount - df + 0.5) / (df + 0.5));
+                s.positions[lists] = 0;
+                lists++;
+            }
+            try {
+                return collectTop(s, lists, city, filter, offset, limit);
+            } finally {
+                Arrays.fill(s.lists, 0, lists, null);
+                // при заполненном пуле буфер просто достается сборщику мусора
+                scratchPool.offer(s);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean accepts(int doc, int city, VacancyFilter filter) {
+        if (city != NO_CITY && cityOf[doc] != city) {
+            return false;
+        }
+        if (filter.minSalary() != null && (maxSalaries[doc] == NO_SALARY || maxSalaries[doc] < filter.minSalary())) {
+            return false;
+        }
+        if (filter.maxSalary() != null && (minSalaries[doc] == NO_SALARY || minSalaries[doc] > filter.maxSalary())) {
+            return false;
+        }
+        return filter.organizationId() == null || organizationIds[doc] == filter.organizationId();
+    }
+
+    /**
+     * Обходит списки вхождений одновременно (document-at-a-time): списки отсортированы по номеру документа,
+     * поэтому очки каждого документа считаются целиком за один шаг и сразу попадают в кучу top-k.
+     */
+    private List<Hit> collectTop(Scratch s, int lists, int city, VacancyFilter filter, int offset, int limit) {
+        int k = offset + limit;
+        int heapSize = 0;
+        float avgLength = (float) totalLength / liveCount;
+        while (true) {
+            int doc = Integer.MAX_VALUE;
+            for (int i = 0; i < lists; i++) {
+                if (s.positions[i] < s.lists[i].size) {
+                    doc = Math.min(doc, s.lists[i].docs[s.positions[i]]);
+                }
+            }
+            if (doc == Integer.MAX_VALUE) {
+                break;
+            }
+            boolean candidate = !isDeleted(doc) && accepts(doc, city, filter);
+            float norm = K1 * (1 - B + B * lengths[doc] / avgLength);
+            float score = 0f;
+            for (int i = 0; i < lists; i++) {
+                PostingList list = s.lists[i];
+                int position = s.positions[i];
+                if (position < list.size && list.docs[position] == doc) {
+                    if (candidate) {
+                        int tf = list.freqs[position];
+                        score += s.idfs[i] * tf * (K1 + 1) / (tf + norm);
+                    }
+                    s.positions[i] = position + 1;
+                }
+            }
+            if (!candidate) {
+                continue;
+            }
+            if (heapSize < k) {
+                s.heapDocs[heapSize] = doc;
+                s.heapScores[heapSize] = score;
+                siftUp(s, heapSize++);
+            } else if (better(score, doc, s.heapScores[0], s.heapDocs[0])) {
+                s.heapDocs[0] = doc;
+                s.heapScores[0] = score;
+                siftDown(s, 0, heapSize);
+            }
+        }
+        // извлекаем из min-кучи худший элемент в конец, получая порядок по убыванию
+        for (int end = heapSize - 1; end > 0; end--) {
+            swap(s, 0, end);
+            siftDown(s, 0, end);
+        }
+        if (heapSize <= offset) {
+            return List.of();
+        }
+        List<Hit> hits = new ArrayList<>(heapSize - offset);
+        for (int i = offset; i < heapSize; i++) {
+            int doc = s.heapDocs[i];
+            hits.add(new Hit(
+                    vacancyIds[doc],
+                    s.heapScores[i],
+                    descriptions[doc],
+                    minSalaries[doc] == NO_SALARY ? null : minSalaries[doc],
+                    maxSalaries[doc] == NO_SALARY ? null : maxSalaries[doc],
+                    cityOf[doc] == NO_CITY ? null : cities.get(cityOf[doc]),
+                    organizationIds[doc] == NO_ORGANIZATION ? null : organizationIds[doc]));
+        }
+        return hits;
+    }
+
+    // при равных очках выше документ, добавленный раньше
+    private static boolean better(float score, int doc, float otherScore, int otherDoc) {
+        return score > otherScore || (score == otherScore && doc < otherDoc);
+    }
+
+    private static void siftUp(Scratch s, int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!better(s.heapScores[parent], s.heapDocs[parent], s.heapScores[i], s.heapDocs[i])) {
+                break;
+            }
+            swap(s, i, parent);
+            i = parent;
+        }
+    }
+
+    private static void siftDown(Scratch s, int i, int size) {
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= size) {
+                break;
+            }
+            int worst = left;
+            int right = left + 1;
+            if (right < size && better(s.heapScores[left], s.heapDocs[left], s.heapScores[right], s.heapDocs[right])) {
+                worst = right;
+            }
+            if (!better(s.heapScores[i], s.heapDocs[i], s.heapScores[worst], s.heapDocs[worst])) {
+                break;
+            }
+            swap(s, i, worst);
+            i = worst;
+        }
+    }
+
+    private static void swap(Scratch s, int a, int b) {
+        int doc = s.heapDocs[a];
+        s.heapDocs[a] = s.heapDocs[b];
+        s.heapDocs[b] = doc;
+        float score = s.heapScores[a];
+        s.heapScores[a] = s.heapScores[b];
+        s.heapScores[b] = score;
+    }
+
+    private int cityId(String city) {
+        Integer id = cityIds.get(city);
+        if (id == null) {
+            id = cities.size();
+            cities.add(city);
+            cityIds.put(city, id);
+        }
+        return id;
+    }
+
+    private boolean isDeleted(int doc) {
+        return (deleted[doc >>> 6] & (1L << doc)) != 0;
+    }
+
+    private void markDeleted(int doc) {
+        deleted[doc >>> 6] |= 1L << doc;
+        descriptions[doc] = null;
+        liveCount--;
+        totalLength -= lengths[doc];
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= vacancyIds.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, vacancyIds.length << 1);
+        vacancyIds = Arrays.copyOf(vacancyIds, newCapacity);
+        organizationIds = Arrays.copyOf(organizationIds, newCapacity);
+        lengths = Arrays.copyOf(lengths, newCapacity);
+        minSalaries = Arrays.copyOf(minSalaries, newCapacity);
+        maxSalaries = Arrays.copyOf(maxSalaries, newCapacity);
+        cityOf = Arrays.copyOf(cityOf, newCapacity);
+        descriptions = Arrays.copyOf(descriptions, newCapacity);
+        deleted = Arrays.copyOf(deleted, (newCapacity + 63) >>> 6);
+    }
+
+    private void compactIfNeeded() {
+        int dead = docCount - liveCount;
+        if (dead > COMPACT_THRESHOLD && dead > liveCount / 4) {
+            compact();
+        }
+    }
+
+    private void compact() {
+        int[] remap = new int[docCount];
+        int next = 0;
+        for (int doc = 0; doc < docCount; doc++) {
+            if (isDeleted(doc)) {
+                remap[doc] = -1;
+                continue;
+            }
+            remap[doc] = next;
+            vacancyIds[next] = vacancyIds[doc];
+            organizationIds[next] = organizationIds[doc];
+            lengths[next] = lengths[doc];
+            minSalaries[next] = minSalaries[doc];
+            maxSalaries[next] = maxSalaries[doc];
+            cityOf[next] = cityOf[doc];
+            descriptions[next] = descriptions[doc];
+            next++;
+        }
+        Arrays.fill(descriptions, next, docCount, null);
+        Arrays.fill(deleted, 0L);
+        docCount = next;
+
+        Iterator<PostingList> lists = postings.values().iterator();
+        while (lists.hasNext()) {
+            PostingList list = lists.next();
+            list.remap(remap);
+            if (list.size == 0) {
+                lists.remove();
+            }
+        }
+        docsByVacancyId.clear();
+        for (int doc = 0; doc < docCount; doc++) {
+            docsByVacancyId.put(vacancyIds[doc], doc);
+        }
+    }
+
+    private static final class Scratch {
+        PostingList[] lists = new PostingList[0];
+        float[] idfs = new float[0];
+        int[] positions = new int[0];
+        int[] heapDocs = new int[0];
+        float[] heapScores = new float[0];
+
+        void ensure(int terms, int k) {
+            if (lists.length < terms) {
+                lists = new PostingList[terms];
+                idfs = new float[terms];
+                positions = new int[terms];
+            }
+            if (heapDocs.length < k) {
+                heapDocs = new int[k];
+                heapScores = new float[k];
+            }
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.vacancy.service;
+
+import java.util.List;
+
+import com.vacancy.model.dto.out.CacheRegionStatsDtoOut;
+
+public interface CacheStatisticsService {
+    List<CacheRegionStatsDtoOut> getStatistics();
+}
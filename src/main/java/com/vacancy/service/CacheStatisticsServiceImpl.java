@@ -0,0 +1,39 @@
+package com.vacancy.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.cache.CacheManager;
+
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.vacancy.model.dto.out.CacheRegionStatsDtoOut;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Статистика регионов кеша второго уровня по данным самого Caffeine
+ * (monitoring.native-statistics в caffeine-jcache.conf) и кеша готовых страниц списка вакансий.
+ * Счетчики накапливаются с момента старта.
+ */
+@Service
+@RequiredArgsConstructor
+public class CacheStatisticsServiceImpl implements CacheStatisticsService {
+
+    private final CacheManager entityCacheManager;
+    private final VacancyPageCacheService pageCacheService;
+
+    public List<CacheRegionStatsDtoOut> getStatistics() {
+        List<CacheRegionStatsDtoOut> regions = new ArrayList<>();
+        for (String name : entityCacheManager.getCacheNames()) {
+            Cache<?, ?> cache = entityCacheManager.getCache(name).unwrap(Cache.class);
+            CacheStats stats = cache.stats();
+            regions.add(new CacheRegionStatsDtoOut(name, cache.estimatedSize(), stats.hitCount(), stats.missCount(),
+                    stats.hitRate(), stats.evictionCount()));
+        }
+        regions.add(pageCacheService.getStatistics());
+        return regions;
+    }
+}
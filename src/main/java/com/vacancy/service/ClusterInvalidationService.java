@@ -0,0 +1,6 @@
+package com.vacancy.service;
+
+public interface ClusterInvalidationService {
+    String getNodeId();
+    boolean isListening();
+}
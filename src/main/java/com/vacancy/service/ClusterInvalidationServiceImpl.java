@@ -0,0 +1,288 @@
+package com.vacancy.service;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.vacancy.events.OrganizationDeletedEvent;
+import com.vacancy.events.OrganizationSavedEvent;
+import com.vacancy.events.UserDeletedEvent;
+import com.vacancy.events.UserSavedEvent;
+import com.vacancy.events.VacancyDeletedEvent;
+import com.vacancy.events.VacancySavedEvent;
+import com.vacancy.model.entities.Organization;
+import com.vacancy.model.entities.User;
+import com.vacancy.model.entities.Vacancy;
+import com.vacancy.repository.VacancyRepository;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Согласованность кешей между экземплярами приложения через Postgres LISTEN/NOTIFY.
+ * <p>
+ * Изменения вакансий, организаций и пользователей (события сервисов) собираются за транзакцию
+ * и отправляются pg_notify перед коммитом в той же транзакции: Postgres доставит уведомление
+ * только после коммита и не доставит при откате. Вне транзакции уведомление уходит сразу.
+ * <p>
+ * Отдельное соединение, не из пула, слушает канал. Для чужих изменений вытесняются записи кеша
+ * второго уровня и кеш запросов, а для вакансий и удаленных организаций заново публикуются
+ * локальные события, чтобы поисковый индекс и фасеты этого экземпляра тоже обновились.
+ * После переподключения пропущенные уведомления восстановить нельзя, поэтому кеш второго уровня
+ * очищается целиком.
+ */
+@Service
+@ConditionalOnProperty(prefix = "vacancy.cluster.invalidation", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class ClusterInvalidationServiceImpl implements ClusterInvalidationService {
+
+    enum Change {
+        VACANCY_SAVED, VACANCY_DELETED, ORGANIZATION_SAVED, ORGANIZATION_DELETED, USER_SAVED, USER_DELETED
+    }
+
+    private record Notice(Change change, long id) {
+    }
+
+    private static final Pattern CHANNEL = Pattern.compile("[a-z_][a-z0-9_]*");
+    // предел payload в Postgres - 8000 байт
+    private static final int MAX_PAYLOAD = 7900;
+    private static final long POLL_MILLIS = 500;
+    private static final long RECONNECT_MILLIS = 5000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final EntityManagerFactory entityManagerFactory;
+    private final VacancyRepository vacancyRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final String channel;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Thread listener;
+    private volatile boolean running = true;
+    private volatile boolean listening;
+
+    public ClusterInvalidationServiceImpl(JdbcTemplate jdbcTemplate,
+                                          DataSourceProperties dataSourceProperties,
+                                          EntityManagerFactory entityManagerFactory,
+                                          VacancyRepository vacancyRepository,
+                                          ApplicationEventPublisher eventPublisher,
+                                          @Value("${vacancy.cluster.invalidation.channel:vacancy_cache_invalidation}") String channel) {
+        if (!CHANNEL.matcher(channel).matches()) {
+            throw new IllegalArgumentException("vacancy.cluster.invalidation.channel must be a lowercase identifier");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        this.entityManagerFactory = entityManagerFactory;
+        this.vacancyRepository = vacancyRepository;
+        this.eventPublisher = eventPublisher;
+        this.channel = channel;
+        this.listener = new Thread(this::listen, "cluster-invalidation");
+        this.listener.setDaemon(true);
+    }
+
+    // слушатель переиздает события, поэтому стартует, когда контекст полностью готов
+    @EventListener(ApplicationReadyEvent.class)
+    void start() {
+        listener.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        listener.join(POLL_MILLIS * 4);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public boolean isListening() {
+        return listening;
+    }
+
+    @EventListener
+    public void onVacancySaved(VacancySavedEvent event) {
+        publish(Change.VACANCY_SAVED, event.id());
+    }
+
+    @EventListener
+    public void onVacancyDeleted(VacancyDeletedEvent event) {
+        publish(Change.VACANCY_DELETED, event.id());
+    }
+
+    @EventListener
+    public void onOrganizationSaved(OrganizationSavedEvent event) {
+        publish(Change.ORGANIZATION_SAVED, event.id());
+    }
+
+    @EventListener
+    public void onOrganizationDeleted(OrganizationDeletedEvent event) {
+        publish(Change.ORGANIZATION_DELETED, event.id());
+    }
+
+    @EventListener
+    public void onUserSaved(UserSavedEvent event) {
+        publish(Change.USER_SAVED, event.id());
+    }
+
+    @EventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        publish(Change.USER_DELETED, event.id());
+    }
+
+    private void publish(Change change, long id) {
+        if (Thread.currentThread() == listener) {
+            // событие переиздано из чужого уведомления, рассылать его обратно не нужно
+            return;
+        }
+        Notice notice = new Notice(change, id);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            send(List.of(notice));
+            return;
+        }
+        PendingNotices pending = (PendingNotices) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingNotices();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.notices.add(notice);
+    }
+
+    /**
+     * Уведомления транзакции; уходят в beforeCommit через то же соединение, что и сама транзакция.
+     */
+    private class PendingNotices implements TransactionSynchronization {
+        private final List<Notice> notices = new ArrayList<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            send(notices);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(ClusterInvalidationServiceImpl.this);
+        }
+    }
+
+    // payload: id экземпляра-отправителя, затем по строке "CHANGE id" на изменение
+    private void send(List<Notice> notices) {
+        StringBuilder payload = new StringBuilder(nodeId);
+        for (Notice notice : notices) {
+            String line = "\n" + notice.change() + " " + notice.id();
+            if (payload.length() + line.length() > MAX_PAYLOAD) {
+                notify(payload.toString());
+                payload.setLength(0);
+                payload.append(nodeId);
+            }
+            payload.append(line);
+        }
+        if (payload.length() > nodeId.length()) {
+            notify(payload.toString());
+        }
+    }
+
+    private void notify(String payload) {
+        jdbcTemplate.queryForObject("SELECT pg_notify(?, ?)", Object.class, channel, payload);
+    }
+
+    private void listen() {
+        boolean reconnect = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword());
+                 Statement statement = connection.createStatement()) {
+                statement.execute("LISTEN " + channel);
+                if (reconnect) {
+                    entityManagerFactory.getCache().evictAll();
+                    log.warn("Cluster invalidation channel reconnected, second-level cache cleared");
+                }
+                listening = true;
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications((int) POLL_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            receive(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                listening = false;
+                reconnect = true;
+                log.warn("Cluster invalidation channel failed: {}", e.getMessage());
+                try {
+                    Thread.sleep(RECONNECT_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+        listening = false;
+    }
+
+    private void receive(String payload) {
+        String[] lines = payload.split("\n");
+        if (lines[0].equals(nodeId)) {
+            return;
+        }
+        for (int i = 1; i < lines.length; i++) {
+            try {
+                String[] parts = lines[i].split(" ");
+                apply(Change.valueOf(parts[0]), Long.parseLong(parts[1]));
+            } catch (RuntimeException e) {
+                log.warn("Failed to apply cluster invalidation '{}': {}", lines[i], e.getMessage());
+            }
+        }
+    }
+
+    private void apply(Change change, long id) {
+        org.hibernate.Cache cache = entityManagerFactory.getCache().unwrap(org.hibernate.Cache.class);
+        switch (change) {
+            case VACANCY_SAVED -> {
+                cache.evictEntityData(Vacancy.class, id);
+                vacancyRepository.findById(id).ifPresentOrElse(
+                        vacancy -> eventPublisher.publishEvent(VacancySavedEvent.of(vacancy)),
+                        () -> eventPublisher.publishEvent(new VacancyDeletedEvent(id)));
+            }
+            case VACANCY_DELETED -> {
+                cache.evictEntityData(Vacancy.class, id);
+                eventPublisher.publishEvent(new VacancyDeletedEvent(id));
+            }
+            case ORGANIZATION_SAVED -> {
+                cache.evictEntityData(Organization.class, id);
+                cache.evictQueryRegions();
+            }
+            case ORGANIZATION_DELETED -> {
+                // вакансии организации удалены каскадом в базе, их id в уведомлении нет
+                cache.evictEntityData(Organization.class, id);
+                cache.evictEntityData(Vacancy.class);
+                cache.evictQueryRegions();
+                eventPublisher.publishEvent(new OrganizationDeletedEvent(id));
+            }
+            case USER_SAVED, USER_DELETED -> {
+                cache.evictEntityData(User.class, id);
+                cache.evictQueryRegions();
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.vacancy.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.springframework.http.HttpStatus;
+
+import com.vacancy.exceptions.RequestException;
+
+/**
+ * Читает CSV с заголовком построчно. Обязательные колонки nickname и email, необязательная cv_link,
+ * порядок колонок задается заголовком. Значения в кавычках могут содержать запятые и удвоенные кавычки,
+ * но не переводы строк. Пустые строки пропускаются.
+ */
+class CsvUserImportReader implements Iterator<UserImportRow> {
+
+    private final BufferedReader reader;
+    private final int nicknameColumn;
+    private final int emailColumn;
+    private final int cvLinkColumn;
+    private final int columnCount;
+    private int row;
+    private UserImportRow next;
+
+    CsvUserImportReader(InputStream in) {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String header = readLine();
+        if (header == null) {
+            throw new RequestException(HttpStatus.BAD_REQUEST, "CSV не содержит заголовка");
+        }
+        if (header.startsWith("\uFEFF")) {
+            header = header.substring(1);
+        }
+        List<String> columns = parseLine(header);
+        if (columns == null) {
+            throw new RequestException(HttpStatus.BAD_REQUEST, "Некорректный заголовок CSV");
+        }
+        columns.replaceAll(column -> column.trim().toLowerCase());
+        this.nicknameColumn = columns.indexOf("nickname");
+        this.emailColumn = columns.indexOf("email");
+        this.cvLinkColumn = columns.indexOf("cv_link");
+        this.columnCount = columns.size();
+        if (nicknameColumn < 0 || emailColumn < 0) {
+            throw new RequestException(HttpStatus.BAD_REQUEST, "В заголовке CSV должны быть колонки nickname и email");
+        }
+    }
+
+    public boolean hasNext() {
+        while (next == null) {
+            String line = readLine();
+            if (line == null) {
+                return false;
+            }
+            if (!line.isBlank()) {
+                next = toRow(++row, line);
+            }
+        }
+        return true;
+    }
+
+    public UserImportRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        UserImportRow current = next;
+        next = null;
+        return current;
+    }
+
+    private UserImportRow toRow(int row, String line) {
+        List<String> values = parseLine(line);
+        if (values == null) {
+            return UserImportRow.malformed(row, "Незакрытая кавычка");
+        }
+        if (values.size() != columnCount) {
+            return UserImportRow.malformed(row, "Ожидается колонок: " + columnCount + ", получено: " + values.size());
+        }
+        String cvLink = cvLinkColumn >= 0 ? values.get(cvLinkColumn) : null;
+        return new UserImportRow(row, values.get(nicknameColumn), values.get(emailColumn),
+                cvLink == null || cvLink.isEmpty() ? null : cvLink, null);
+    }
+
+    // null, если кавычка не закрыта
+    private static List<String> parseLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    value.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        values.add(value.toString());
+        return values;
+    }
+
+    // ошибка чтения тела запроса прерывает загрузку так же, как синтаксическая ошибка JSON
+    private String readLine() {
+        try {
+            return reader.readLine();
+        } catch (IOException e) {
+            throw new RequestException(HttpStatus.BAD_REQUEST, "Не удалось прочитать CSV после строки " + row + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.vacancy.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.springframework.http.HttpStatus;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vacancy.exceptions.RequestException;
+import com.vacancy.model.dto.in.UserDtoIn;
+
+/**
+ * Читает JSON-массив пользователей по одному элементу, не загружая тело запроса целиком.
+ * Запись с полями неверного типа становится некорректной строкой отчета; синтаксическая ошибка
+ * прерывает чтение (RequestException), потому что продолжить разбор массива после нее нельзя.
+ */
+class JsonUserImportReader implements Iterator<UserImportRow> {
+
+    private final ObjectMapper objectMapper;
+    private final JsonParser parser;
+    private int row;
+    private boolean finished;
+    private UserImportRow next;
+
+    JsonUserImportReader(ObjectMapper objectMapper, InputStream in) {
+        this.objectMapper = objectMapper;
+        try {
+            this.parser = objectMapper.getFactory().createParser(in);
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new RequestException(HttpStatus.BAD_REQUEST, "Ожидается JSON-массив пользователей");
+            }
+        } catch (IOException e) {
+            throw new RequestException(HttpStatus.BAD_REQUEST, "Некорректный JSON: " + e.getMessage());
+        }
+    }
+
+    public boolean hasNext() {
+        if (next == null && !finished) {
+            next = readNext();
+        }
+        return next != null;
+    }
+
+    public UserImportRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        UserImportRow current = next;
+        next = null;
+        return current;
+    }
+
+    private UserImportRow readNext() {
+        try {
+            JsonToken token = parser.nextToken();
+            if (token == JsonToken.END_ARRAY) {
+                finished = true;
+                return null;
+            }
+            if (token == null) {
+                throw new RequestException(HttpStatus.BAD_REQUEST, "JSON-массив не закрыт после записи " + row);
+            }
+            row++;
+            if (token != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                return UserImportRow.malformed(row, "Ожидается объект пользователя");
+            }
+            // объект читается целиком, поэтому ошибка типов в нем не мешает читать следующие записи
+            JsonNode node = objectMapper.readTree(parser);
+            UserDtoIn dto;
+            try {
+                dto = objectMapper.treeToValue(node, UserDtoIn.class);
+            } catch (JsonProcessingException e) {
+                return UserImportRow.malformed(row, "Некорректное значение поля: " + e.getOriginalMessage());
+            }
+            return new UserImportRow(row, dto.getNickname(), dto.getEmail(), dto.getCvLink(), null);
+        } catch (IOException e) {
+            // после синтаксической ошибки продолжить разбор массива нельзя
+            throw new RequestException(HttpStatus.BAD_REQUEST, "Некорректный JSON в записи " + row + ": " + e.getMessage());
+        }
+    }
+}
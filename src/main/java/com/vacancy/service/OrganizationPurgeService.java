@@ -0,0 +1,7 @@
+package com.vacancy.service;
+
+public interface OrganizationPurgeService {
+    boolean isLarge(long organizationId);
+    void purge(long organizationId);
+    boolean isPurging(long organizationId);
+}
@@ -0,0 +1,141 @@
+package com.vacancy.service;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.vacancy.events.OrganizationDeletedEvent;
+import com.vacancy.events.VacancyDeletedEvent;
+import com.vacancy.model.entities.Vacancy;
+import com.vacancy.repository.OrganizationRepository;
+import com.vacancy.repository.VacancyRepository;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Фоновое удаление организаций с большим числом вакансий. Вакансии удаляются пачками
+ * по chunk-size, каждая пачка вместе с ее событиями - отдельная короткая транзакция, поэтому блокировки строк vacancy
+ * и каскадное удаление откликов и избранного не копятся в одной многоминутной транзакции.
+ * Сама организация удаляется последней, вместе с вакансиями, добавленными во время удаления.
+ * <p>
+ * Пачки удаляются мимо Hibernate, поэтому удаленные вакансии вытесняются из кеша второго уровня вручную после коммита;
+ * организация удаляется через репозиторий, чтобы Hibernate сбросил ее регион и кеш запросов.
+ * <p>
+ * Если процесс остановится посередине, организация останется с частью вакансий,
+ * и повторный DELETE продолжит удаление.
+ */
+@Service
+@Slf4j
+public class OrganizationPurgeServiceImpl implements OrganizationPurgeService {
+
+    private static final String DELETE_CHUNK_SQL = """
+            DELETE FROM vacancy WHERE id IN (
+                SELECT id FROM vacancy WHERE organization_id = ? ORDER BY id LIMIT ?
+            )
+            RETURNING id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final VacancyRepository vacancyRepository;
+    private final OrganizationRepository organizationRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int threshold;
+    private final int chunkSize;
+    private final Set<Long> purging = ConcurrentHashMap.newKeySet();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "organization-purge");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public OrganizationPurgeServiceImpl(JdbcTemplate jdbcTemplate,
+                                        VacancyRepository vacancyRepository,
+                                        OrganizationRepository organizationRepository,
+                                        EntityManagerFactory entityManagerFactory,
+                                        TransactionTemplate transactionTemplate,
+                                        ApplicationEventPublisher eventPublisher,
+                                        @Value("${vacancy.organizations.purge.threshold:5000}") int threshold,
+                                        @Value("${vacancy.organizations.purge.chunk-size:1000}") int chunkSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.vacancyRepository = vacancyRepository;
+        this.organizationRepository = organizationRepository;
+        this.entityManagerFactory = entityManagerFactory;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.threshold = threshold;
+        this.chunkSize = chunkSize;
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * true, если вакансий у организации больше threshold и удалять ее одной транзакцией не стоит.
+     */
+    public boolean isLarge(long organizationId) {
+        return vacancyRepository.countByOrganizationIdUpTo(organizationId, threshold + 1) > threshold;
+    }
+
+    public void purge(long organizationId) {
+        if (purging.add(organizationId)) {
+            executor.execute(() -> run(organizationId));
+        }
+    }
+
+    public boolean isPurging(long organizationId) {
+        return purging.contains(organizationId);
+    }
+
+    private void run(long organizationId) {
+        long started = System.currentTimeMillis();
+        long deleted = 0;
+        try {
+            List<Long> ids;
+            do {
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+                ids = transactionTemplate.execute(status -> deleteChunk(organizationId));
+                for (Long id : ids) {
+                    entityManagerFactory.getCache().evict(Vacancy.class, id);
+                }
+                deleted += ids.size();
+            } while (ids.size() == chunkSize);
+            transactionTemplate.executeWithoutResult(status -> {
+                organizationRepository.deleteOrganization(organizationId);
+                eventPublisher.publishEvent(new OrganizationDeletedEvent(organizationId));
+            });
+            log.info("Organization {} purged: {} vacancies in {} ms", organizationId, deleted, System.currentTimeMillis() - started);
+        } catch (RuntimeException e) {
+            log.error("Failed to purge organization {} after {} vacancies: {}", organizationId, deleted, e.getMessage());
+        } finally {
+            purging.remove(organizationId);
+        }
+    }
+
+    /**
+     * События публикуются внутри транзакции пачки, чтобы уведомления кластеру ушли одним пакетом в beforeCommit,
+     * а не отдельным pg_notify на каждую вакансию.
+     */
+    private List<Long> deleteChunk(long organizationId) {
+        List<Long> ids = jdbcTemplate.queryForList(DELETE_CHUNK_SQL, Long.class, organizationId, chunkSize);
+        for (Long id : ids) {
+            eventPublisher.publishEvent(new VacancyDeletedEvent(id));
+        }
+        return ids;
+    }
+}
@@ -2,18 +2,24 @@ package com.vacancy.service;
 
 import com.vacancy.model.entities.Organization;
 import com.vacancy.model.entities.Vacancy;
-import org.springframework.data.domain.Page;
+import com.vacancy.model.pagination.CursorPage;
+import com.vacancy.model.search.VacancyResponse;
+import com.vacancy.model.search.VacancySummary;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 
 public interface OrganizationService {
-    Page<Organization> getAllOrganizations(int page, int size);
+    Slice<Organization> getAllOrganizations(int page, int size);
+    CursorPage<Organization> getOrganizationsAfter(String after, int size);
     Organization getOrganizationById(Long id);
     Organization createOrganization(Organization organization);
-    Organization updateOrganization(Long id, Organization organization);
-    void deleteOrganization(Long id);
-    List<Vacancy> getOrganizationVacancies(Long id);
+    Organization updateOrganization(Long id, Organization organization, Long expectedVersion);
+    boolean deleteOrganization(Long id);
+    CursorPage<VacancySummary> getOrganizationVacancies(Long id, String after, int size);
     Vacancy publishVacancy(Long organizationId, Vacancy vacancy);
-    Vacancy updateOrganizationVacancy(Long organizationId, Long vacancyId, Vacancy vacancy);
+    List<Vacancy> publishVacancies(Long organizationId, List<Vacancy> vacancies);
+    Vacancy updateOrganizationVacancy(Long organizationId, Long vacancyId, Vacancy vacancy, Long expectedVersion);
     void deleteOrganizationVacancy(Long organizationId, Long vacancyId);
+    CursorPage<VacancyResponse> getVacancyResponses(Long organizationId, Long vacancyId, String after, int size);
 }
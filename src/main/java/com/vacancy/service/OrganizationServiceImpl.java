@@ -2,19 +2,33 @@ package com.vacancy.service;
 
 import java.util.List;
 
-import org.hibernate.Hibernate;
-import org.springframework.data.domain.Page;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.vacancy.events.OrganizationDeletedEvent;
+import com.vacancy.events.OrganizationSavedEvent;
 import com.vacancy.exceptions.RequestException;
 import com.vacancy.model.entities.Organization;
 import com.vacancy.model.entities.Vacancy;
+import com.vacancy.model.pagination.Cursor;
+import com.vacancy.model.pagination.CursorPage;
+import com.vacancy.model.search.VacancyFilter;
+import com.vacancy.model.search.VacancyResponse;
+import com.vacancy.model.search.VacancySort;
+import com.vacancy.model.search.VacancySummary;
 import com.vacancy.repository.OrganizationRepository;
+import com.vacancy.repository.UserVacancyResponseRepository;
+import com.vacancy.repository.VacancyRepository;
+import com.vacancy.repository.VacancySpecifications;
 
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 
 @Service
@@ -25,14 +39,30 @@ public class OrganizationServiceImpl implements OrganizationService {
     private static final String ORGANIZATION_NOT_FOUND = "Организация не найдена";
 
     private final OrganizationRepository organizationRepository;
+    private final VacancyRepository vacancyRepository;
+    private final UserVacancyResponseRepository responseRepository;
     private final VacancyService vacancyService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OrganizationPurgeService purgeService;
+    private final EntityManager entityManager;
 
-    public Page<Organization> getAllOrganizations(int page, int size) {
+    public Slice<Organization> getAllOrganizations(int page, int size) {
         if (size > 50) {
             size = 50;
         }
         Pageable pageable = PageRequest.of(page, size);
-        return organizationRepository.findAll(pageable);
+        return organizationRepository.findAllBy(pageable);
+    }
+
+    public CursorPage<Organization> getOrganizationsAfter(String after, int size) {
+        if (size > 50) {
+            size = 50;
+        }
+        if (size < 1) {
+            throw new RequestException(HttpStatus.BAD_REQUEST, "Размер страницы должен быть положительным");
+        }
+        List<Organization> organizations = organizationRepository.findByIdGreaterThanOrderByIdAsc(Cursor.decode(after), Limit.of(size + 1));
+        return CursorPage.of(organizations, size, Organization::getId);
     }
 
     public Organization getOrganizationById(Long id) {
@@ -45,13 +75,22 @@ public class OrganizationServiceImpl implements OrganizationService {
         if (organizationRepository.findOrganizationByEmail(organization.getEmail()) != null) {
             throw new RequestException(HttpStatus.CONFLICT, "Организация с таким email уже зарегистрирована");
         }
-        return organizationRepository.save(organization);
+        Organization saved = organizationRepository.save(organization);
+        eventPublisher.publishEvent(new OrganizationSavedEvent(saved.getId()));
+        return saved;
     }
 
+    /**
+     * expectedVersion - версия из If-Match; null, если клиент не требует проверки.
+     * Гонку между проверкой и UPDATE ловит сам Hibernate по @Version.
+     */
     @Transactional
-    public Organization updateOrganization(Long id, Organization organization) {
+    public Organization updateOrganization(Long id, Organization organization, Long expectedVersion) {
         Organization existingOrganization = organizationRepository.findById(id)
                 .orElseThrow(() -> new RequestException(HttpStatus.NOT_FOUND, ORGANIZATION_NOT_FOUND));
+        if (expectedVersion != null && !expectedVersion.equals(existingOrganization.getVersion())) {
+            throw new RequestException(HttpStatus.PRECONDITION_FAILED, "Организация уже изменена другим запросом");
+        }
 
         Organization existingByEmail = organizationRepository.findOrganizationByEmail(organization.getEmail());
         if (existingByEmail != null && existingByEmail.getId() != id) {
@@ -61,21 +100,48 @@ public class OrganizationServiceImpl implements OrganizationService {
         existingOrganization.setNickname(organization.getNickname());
         existingOrganization.setEmail(organization.getEmail());
 
-        return organizationRepository.save(existingOrganization);
+        Organization saved = organizationRepository.save(existingOrganization);
+        // UPDATE выполняется сейчас, чтобы в ответ ушла уже увеличенная версия
+        entityManager.flush();
+        eventPublisher.publishEvent(new OrganizationSavedEvent(id));
+        return saved;
     }
 
+    /**
+     * Удаляет организацию одним DELETE с каскадом в базе. Организацию с большим числом вакансий
+     * передает в {@link OrganizationPurgeService} и возвращает false: она удаляется в фоне.
+     */
     @Transactional
-    public void deleteOrganization(Long id) {
-        organizationRepository.deleteById(id);
+    public boolean deleteOrganization(Long id) {
+        if (purgeService.isPurging(id) || purgeService.isLarge(id)) {
+            purgeService.purge(id);
+            return false;
+        }
+        organizationRepository.deleteOrganization(id);
+        eventPublisher.publishEvent(new OrganizationDeletedEvent(id));
+        return true;
     }
 
-    @Transactional
-    public List<Vacancy> getOrganizationVacancies(Long id) {
-        List<Vacancy> vacancies = organizationRepository.findById(id)
-                .orElseThrow(() -> new RequestException(HttpStatus.NOT_FOUND, ORGANIZATION_NOT_FOUND))
-                .getPublishedVacancies();
-        Hibernate.initialize(vacancies);
-        return vacancies;
+    /**
+     * Страница вакансий организации по id: organization_id = ? AND id > ? ORDER BY id LIMIT ?
+     * читается по индексу vacancy_organization_id_idx (V2__vacancy_search_indexes.sql) за время, не зависящее от числа вакансий.
+     */
+    public CursorPage<VacancySummary> getOrganizationVacancies(Long id, String after, int size) {
+        if (size > 50) {
+            size = 50;
+        }
+        if (size < 1) {
+            throw new RequestException(HttpStatus.BAD_REQUEST, "Размер страницы должен быть положительным");
+        }
+        VacancyFilter filter = new VacancyFilter(null, null, null, id, VacancySort.ID);
+        Specification<Vacancy> spec = VacancySpecifications.matching(filter)
+                .and(VacancySpecifications.idGreaterThan(Cursor.decode(after)));
+        List<VacancySummary> vacancies = vacancyRepository.findSummaries(spec, filter.sort().toSort(), 0, size + 1);
+        // пустая страница - единственный случай, когда нужно отличить отсутствующую организацию
+        if (vacancies.isEmpty() && !organizationRepository.existsById(id)) {
+            throw new RequestException(HttpStatus.NOT_FOUND, ORGANIZATION_NOT_FOUND);
+        }
+        return CursorPage.of(vacancies, size, VacancySummary::id);
     }
 
     @Transactional
@@ -87,20 +153,33 @@ public class OrganizationServiceImpl implements OrganizationService {
     }
 
     @Transactional
-    public Vacancy updateOrganizationVacancy(Long organizationId, Long vacancyId, Vacancy vacancy) {
+    public List<Vacancy> publishVacancies(Long organizationId, List<Vacancy> vacancies) {
+        Organization organization = organizationRepository.findById(organizationId)
+                .orElseThrow(() -> new RequestException(HttpStatus.NOT_FOUND, ORGANIZATION_NOT_FOUND));
+        vacancies.forEach(vacancy -> vacancy.setOrganization(organization));
+        return vacancyService.saveVacancies(vacancies);
+    }
+
+    @Transactional
+    public Vacancy updateOrganizationVacancy(Long organizationId, Long vacancyId, Vacancy vacancy, Long expectedVersion) {
         Vacancy existingVacancy = vacancyService.getVacancyById(vacancyId);
 
         if (existingVacancy.getOrganization() == null || existingVacancy.getOrganization().getId() != organizationId) {
             throw new RequestException(HttpStatus.FORBIDDEN, "Вакансия не принадлежит данной организации");
         }
+        if (expectedVersion != null && !expectedVersion.equals(existingVacancy.getVersion())) {
+            throw new RequestException(HttpStatus.PRECONDITION_FAILED, "Вакансия уже изменена другим запросом");
+        }
 
         existingVacancy.setDescription(vacancy.getDescription());
         existingVacancy.setLongDescription(vacancy.getLongDescription());
         existingVacancy.setMinSalary(vacancy.getMinSalary());
         existingVacancy.setMaxSalary(vacancy.getMaxSalary());
         existingVacancy.setCity(vacancy.getCity());
-        
-        return vacancyService.saveVacancy(existingVacancy);
+
+        Vacancy saved = vacancyService.saveVacancy(existingVacancy);
+        entityManager.flush();
+        return saved;
     }
 
     @Transactional
@@ -113,4 +192,27 @@ public class OrganizationServiceImpl implements OrganizationService {
 
         vacancyService.deleteVacancy(vacancy.getId());
     }
+
+    public CursorPage<VacancyResponse> getVacancyResponses(Long organizationId, Long vacancyId, String after, int size) {
+        if (size > 50) {
+            size = 50;
+        }
+        if (size < 1) {
+            throw new RequestException(HttpStatus.BAD_REQUEST, "Размер страницы должен быть положительным");
+        }
+        Cursor.Timed position = Cursor.decodeTimed(after);
+        List<VacancyResponse> responses = responseRepository.findByVacancyAfter(
+                organizationId, vacancyId, position.at(), position.id(), size + 1);
+        if (responses.isEmpty()) {
+            // пустая страница - единственный случай, когда нужно выяснить причину
+            if (!organizationRepository.existsById(organizationId)) {
+                throw new RequestException(HttpStatus.NOT_FOUND, ORGANIZATION_NOT_FOUND);
+            }
+            Vacancy vacancy = vacancyService.getVacancyById(vacancyId);
+            if (vacancy.getOrganization() == null || vacancy.getOrganization().getId() != organizationId) {
+                throw new RequestException(HttpStatus.FORBIDDEN, "Вакансия не принадлежит данной организации");
+            }
+        }
+        return CursorPage.withCursor(responses, size, response -> Cursor.encode(response.getResponseDate(), response.getId()));
+    }
 }
\ No newline at end of file
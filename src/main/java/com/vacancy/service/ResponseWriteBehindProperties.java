@@ -0,0 +1,27 @@
+package com.vacancy.service;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Настройки отложенной записи откликов (vacancy.responses.write-behind.*).
+ *
+ * @param enabled       принимать отклики в очередь вместо синхронной записи
+ * @param capacity      сколько различных пар (пользователь, вакансия) может ждать записи; сверх этого - 429
+ * @param batchSize     строк в одном INSERT; не больше 10000 из-за лимита параметров запроса Postgres
+ * @param flushInterval пауза между сбросами очереди в базу
+ * @param walFile       файл журнала; если не задан, отклики из очереди теряются при падении процесса
+ * @param walSync       fsync после каждой записи в журнал, а не только перед сбросом очереди
+ */
+@ConfigurationProperties("vacancy.responses.write-behind")
+public record ResponseWriteBehindProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("100000") int capacity,
+        @DefaultValue("500") int batchSize,
+        @DefaultValue("200ms") Duration flushInterval,
+        Path walFile,
+        @DefaultValue("false") boolean walSync) {
+}
@@ -0,0 +1,8 @@
+package com.vacancy.service;
+
+public interface ResponseWriteBehindService {
+    void enqueue(long userId, long vacancyId);
+    boolean cancel(long userId, long vacancyId);
+    int flush();
+    int pendingCount();
+}
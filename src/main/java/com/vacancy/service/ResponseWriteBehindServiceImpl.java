@@ -0,0 +1,328 @@
+package com.vacancy.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.vacancy.exceptions.RequestException;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Отложенная запись откликов. Отклик попадает в ограниченную очередь, повторные отклики той же пары
+ * (пользователь, вакансия) до записи схлопываются в один с самой поздней датой. Фоновый поток
+ * сбрасывает очередь многострочными INSERT ... ON CONFLICT DO UPDATE. Отклики на удаленные к этому
+ * моменту вакансии или от удаленных пользователей отбрасываются при вставке.
+ * <p>
+ * Если задан walFile, отклик сначала дописывается в журнал; при старте журнал проигрывается заново,
+ * а очищается, когда после сброса очередь пуста. Повторная запись безопасна: дата отклика только растет.
+ */
+@Service
+@ConditionalOnProperty(prefix = "vacancy.responses.write-behind", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ResponseWriteBehindProperties.class)
+@Slf4j
+public class ResponseWriteBehindServiceImpl implements ResponseWriteBehindService {
+
+    private record Key(long userId, long vacancyId) {
+    }
+
+    private static final String CANCELLED = "-";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ResponseWriteBehindProperties properties;
+    private final VacancyCounterService counterService;
+    private final Map<Key, Instant> pending = new ConcurrentHashMap<>();
+    // число пар в pending; место занимается атомарно со вставкой пары, поэтому очередь не превышает capacity
+    private final AtomicInteger queued = new AtomicInteger();
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "response-write-behind");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ReentrantLock flushLock = new ReentrantLock();
+    // запись в журнал идет под read-lock параллельно, очистка журнала - под write-lock
+    private final ReentrantReadWriteLock walLock = new ReentrantReadWriteLock();
+    private FileChannel wal;
+
+    public ResponseWriteBehindServiceImpl(JdbcTemplate jdbcTemplate, ResponseWriteBehindProperties properties,
+                                          VacancyCounterService counterService) {
+        if (properties.batchSize() < 1 || properties.batchSize() > 10000) {
+            throw new IllegalArgumentException("vacancy.responses.write-behind.batch-size must be between 1 and 10000");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.counterService = counterService;
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        if (properties.walFile() != null) {
+            replayWal();
+            wal = FileChannel.open(properties.walFile(),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+        long interval = properties.flushInterval().toMillis();
+        flusher.scheduleWithFixedDelay(this::flushQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException, IOException {
+        flusher.shutdown();
+        flusher.awaitTermination(10, TimeUnit.SECONDS);
+        flushQuietly();
+        if (wal != null) {
+            wal.close();
+        }
+        if (!pending.isEmpty()) {
+            log.warn("{} vacancy responses were not written on shutdown", pending.size());
+        }
+    }
+
+    public void enqueue(long userId, long vacancyId) {
+        Key key = new Key(userId, vacancyId);
+        Instant now = Instant.now();
+        if (wal == null) {
+            put(key, now, true);
+            return;
+        }
+        walLock.readLock().lock();
+        try {
+            // сначала очередь: отклик, отклоненный по capacity, не должен попасть в журнал
+            put(key, now, true);
+            appendToWal(key, now);
+        } finally {
+            walLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Снимает отклик из очереди перед его удалением из базы. В журнал пишется отметка отмены,
+     * чтобы проигрывание журнала тоже его отбросило. Ждет идущий сброс: после возврата отклик либо уже
+     * записан в базу и будет найден DELETE, либо не будет записан никогда.
+     * Возвращает true, если отклик ждал записи.
+     */
+    public boolean cancel(long userId, long vacancyId) {
+        Key key = new Key(userId, vacancyId);
+        flushLock.lock();
+        try {
+            if (wal == null) {
+                return remove(key);
+            }
+            walLock.readLock().lock();
+            try {
+                appendToWal(key, null);
+                return remove(key);
+            } finally {
+                walLock.readLock().unlock();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Записывает все накопленные отклики. Возвращает число отправленных в базу строк.
+     * Блокировка, а не synchronized: виртуальный поток не закрепляется за несущим на время INSERT.
+     */
+    public int flush() {
+        flushLock.lock();
+        try {
+            int written = 0;
+            while (true) {
+                List<Map.Entry<Key, Instant>> batch = drain(properties.batchSize());
+                if (batch.isEmpty()) {
+                    break;
+                }
+                try {
+                    insert(batch);
+                } catch (DataAccessException e) {
+                    // возврат в очередь не отклоняется, даже если ее успели занять новые отклики
+                    batch.forEach(entry -> put(entry.getKey(), entry.getValue(), false));
+                    throw e;
+                }
+                written += batch.size();
+                if (batch.size() < properties.batchSize()) {
+                    break;
+                }
+            }
+            truncateWalIfDrained();
+            return written;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Failed to write {} queued vacancy responses, will retry: {}", pending.size(), e.getMessage());
+        }
+    }
+
+    private List<Map.Entry<Key, Instant>> drain(int limit) {
+        List<Map.Entry<Key, Instant>> batch = new ArrayList<>(Math.min(limit, pending.size()));
+        Iterator<Key> keys = pending.keySet().iterator();
+        while (batch.size() < limit && keys.hasNext()) {
+            Key key = keys.next();
+            Instant at = pending.remove(key);
+            if (at != null) {
+                queued.decrementAndGet();
+                batch.add(Map.entry(key, at));
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * Ставит пару в очередь или сдвигает дату уже стоящей. Новая пара занимает место в очереди
+     * внутри compute, поэтому параллельные вызовы не проходят проверку capacity одновременно.
+     */
+    private void put(Key key, Instant at, boolean limited) {
+        pending.compute(key, (k, queuedAt) -> {
+            if (queuedAt != null) {
+                return latest(queuedAt, at);
+            }
+            if (queued.incrementAndGet() > properties.capacity() && limited) {
+                queued.decrementAndGet();
+                throw new RequestException(HttpStatus.TOO_MANY_REQUESTS, "Слишком много откликов, повторите позже");
+            }
+            return at;
+        });
+    }
+
+    private boolean remove(Key key) {
+        if (pending.remove(key) == null) {
+            return false;
+        }
+        queued.decrementAndGet();
+        return true;
+    }
+
+    private void insert(List<Map.Entry<Key, Instant>> batch) {
+        StringBuilder sql = new StringBuilder("""
+                INSERT INTO user_vacancy_response (user_id, vacancy_id, response_date)
+                SELECT r.user_id, r.vacancy_id, r.response_date FROM (VALUES\s""");
+        Object[] args = new Object[batch.size() * 3];
+        for (int i = 0; i < batch.size(); i++) {
+            sql.append(i == 0 ? "" : ", ").append("(CAST(? AS bigint), CAST(? AS bigint), CAST(? AS timestamptz))");
+            Map.Entry<Key, Instant> entry = batch.get(i);
+            args[i * 3] = entry.getKey().userId();
+            args[i * 3 + 1] = entry.getKey().vacancyId();
+            args[i * 3 + 2] = OffsetDateTime.ofInstant(entry.getValue(), ZoneOffset.UTC);
+        }
+        sql.append("""
+                ) AS r(user_id, vacancy_id, response_date)
+                JOIN users u ON u.id = r.user_id
+                JOIN vacancy v ON v.id = r.vacancy_id
+                ON CONFLICT (user_id, vacancy_id)
+                DO UPDATE SET response_date = GREATEST(user_vacancy_response.response_date, EXCLUDED.response_date)
+                RETURNING vacancy_id, (xmax = 0)
+                """);
+        // новые отклики (а не обновленные даты) учитываются в счетчиках вакансий
+        jdbcTemplate.query(sql.toString(), resultSet -> {
+            if (resultSet.getBoolean(2)) {
+                counterService.addResponses(resultSet.getLong(1), 1);
+            }
+        }, args);
+    }
+
+    // at == null - отметка отмены отклика
+    private void appendToWal(Key key, Instant at) {
+        String time = at == null ? CANCELLED : String.valueOf(ChronoUnit.MICROS.between(Instant.EPOCH, at));
+        String line = key.userId() + "," + key.vacancyId() + "," + time + "\n";
+        try {
+            wal.write(ByteBuffer.wrap(line.getBytes(StandardCharsets.US_ASCII)));
+            if (properties.walSync()) {
+                wal.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append to " + properties.walFile(), e);
+        }
+    }
+
+    private void truncateWalIfDrained() {
+        if (wal == null) {
+            return;
+        }
+        walLock.writeLock().lock();
+        try {
+            if (pending.isEmpty() && wal.size() > 0) {
+                wal.truncate(0);
+                wal.force(false);
+            }
+        } catch (IOException e) {
+            log.error("Failed to truncate {}: {}", properties.walFile(), e.getMessage());
+        } finally {
+            walLock.writeLock().unlock();
+        }
+    }
+
+    private void replayWal() throws IOException {
+        if (!Files.exists(properties.walFile())) {
+            return;
+        }
+        int replayed = 0;
+        try (BufferedReader reader = Files.newBufferedReader(properties.walFile(), StandardCharsets.US_ASCII)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.split(",");
+                if (parts.length != 3) {
+                    continue; // строка, недописанная при падении
+                }
+                try {
+                    Key key = new Key(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+                    if (parts[2].equals(CANCELLED)) {
+                        remove(key);
+                        continue;
+                    }
+                    Instant at = Instant.EPOCH.plus(Long.parseLong(parts[2]), ChronoUnit.MICROS);
+                    put(key, at, false);
+                    replayed++;
+                } catch (NumberFormatException e) {
+                    log.warn("Skipping malformed line in {}: {}", properties.walFile(), line);
+                }
+            }
+        }
+        if (replayed > 0) {
+            log.info("Replayed {} vacancy responses from {}", replayed, properties.walFile());
+        }
+    }
+
+    private static Instant latest(Instant a, Instant b) {
+        return a.isAfter(b) ? a : b;
+    }
+}
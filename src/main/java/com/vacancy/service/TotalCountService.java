@@ -0,0 +1,5 @@
+package com.vacancy.service;
+
+public interface TotalCountService {
+    long getTotalCount(Class<?> entityType, boolean exact);
+}
@@ -0,0 +1,56 @@
+package com.vacancy.service;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.vacancy.model.entities.Organization;
+import com.vacancy.model.entities.User;
+import com.vacancy.model.entities.Vacancy;
+import com.vacancy.repository.OrganizationRepository;
+import com.vacancy.repository.UserRepository;
+import com.vacancy.repository.VacancyRepository;
+
+/**
+ * Источник значения для заголовка X-Total-Count.
+ * По умолчанию отдает приблизительное число строк из статистики Postgres (pg_stat_user_tables),
+ * точный SELECT count(*) выполняется только по явному запросу клиента.
+ */
+@Service
+@Transactional(readOnly = true)
+public class TotalCountServiceImpl implements TotalCountService {
+
+    private record Counter(LongSupplier exact, Supplier<Optional<Long>> estimate) {
+    }
+
+    private final Map<Class<?>, Counter> counters;
+
+    public TotalCountServiceImpl(VacancyRepository vacancyRepository,
+                                 UserRepository userRepository,
+                                 OrganizationRepository organizationRepository) {
+        this.counters = Map.of(
+                Vacancy.class, new Counter(vacancyRepository::count, vacancyRepository::estimateCount),
+                User.class, new Counter(userRepository::count, userRepository::estimateCount),
+                Organization.class, new Counter(organizationRepository::count, organizationRepository::estimateCount)
+        );
+    }
+
+    public long getTotalCount(Class<?> entityType, boolean exact) {
+        Counter counter = counters.get(entityType);
+        if (counter == null) {
+            throw new IllegalArgumentException("Unsupported entity type: " + entityType.getName());
+        }
+        if (exact) {
+            return counter.exact().getAsLong();
+        }
+        // статистики может не быть, например сразу после создания таблицы или массовой загрузки;
+        // нулевая оценка тоже пересчитывается точно: на пустой таблице count(*) ничего не стоит
+        return counter.estimate().get()
+                .filter(estimate -> estimate > 0)
+                .orElseGet(counter.exact()::getAsLong);
+    }
+}
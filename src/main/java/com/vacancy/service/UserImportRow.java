@@ -0,0 +1,12 @@
+package com.vacancy.service;
+
+/**
+ * Запись загружаемого пользователя в том виде, в каком она пришла. error заполняется,
+ * если запись не удалось разобрать (например, неверное число колонок CSV).
+ */
+record UserImportRow(int row, String nickname, String email, String cvLink, String error) {
+
+    static UserImportRow malformed(int row, String error) {
+        return new UserImportRow(row, null, null, null, error);
+    }
+}
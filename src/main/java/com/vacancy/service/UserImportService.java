@@ -0,0 +1,10 @@
+package com.vacancy.service;
+
+import java.io.InputStream;
+
+import com.vacancy.model.dto.out.UserImportReportDtoOut;
+
+public interface UserImportService {
+    UserImportReportDtoOut importUsersFromJson(InputStream in);
+    UserImportReportDtoOut importUsersFromCsv(InputStream in);
+}
@@ -0,0 +1,181 @@
+package com.vacancy.service;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vacancy.events.UserSavedEvent;
+import com.vacancy.exceptions.RequestException;
+import com.vacancy.model.dto.in.UserDtoIn;
+import com.vacancy.model.dto.out.UserImportReportDtoOut;
+import com.vacancy.model.dto.out.UserImportRowDtoOut;
+import com.vacancy.model.dto.out.UserImportRowDtoOut.Status;
+import com.vacancy.model.entities.User;
+import com.vacancy.repository.UserRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Массовая загрузка пользователей. Записи читаются потоком и обрабатываются пачками по {@link #CHUNK_SIZE}:
+ * на пачку один запрос занятых email и JDBC-батчи INSERT в отдельной транзакции,
+ * поэтому уже сохраненные пачки не откатываются из-за ошибки в следующих.
+ * Повторы email внутри пачки отсекаются в памяти, между пачками - запросом занятых email,
+ * так что память не растет с размером загрузки. Если вставка пачки все же нарушила уникальность
+ * (email заняли параллельно), пачка сохраняется заново по одной записи.
+ * Если чтение прервалось (синтаксическая ошибка JSON, ошибка чтения тела), уже прочитанные записи сохраняются,
+ * а отчет возвращается с заполненным error.
+ * <p>
+ * События о созданных пользователях публикуются внутри транзакции пачки: уведомления для других экземпляров
+ * уходят одним сообщением при ее фиксации, а при откате пропадают вместе с записями.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserImportServiceImpl implements UserImportService {
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+
+    public UserImportReportDtoOut importUsersFromJson(InputStream in) {
+        return importUsers(new JsonUserImportReader(objectMapper, in));
+    }
+
+    public UserImportReportDtoOut importUsersFromCsv(InputStream in) {
+        return importUsers(new CsvUserImportReader(in));
+    }
+
+    private UserImportReportDtoOut importUsers(Iterator<UserImportRow> rows) {
+        UserImportReportDtoOut report = new UserImportReportDtoOut();
+        List<UserImportRow> chunk = new ArrayList<>(CHUNK_SIZE);
+        try {
+            while (rows.hasNext()) {
+                chunk.add(rows.next());
+                if (chunk.size() == CHUNK_SIZE) {
+                    importChunk(chunk).forEach(report::add);
+                    chunk.clear();
+                }
+            }
+        } catch (RequestException e) {
+            report.setError(e.getMessage());
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk).forEach(report::add);
+        }
+        return report;
+    }
+
+    private List<UserImportRowDtoOut> importChunk(List<UserImportRow> chunk) {
+        UserImportRowDtoOut[] results = new UserImportRowDtoOut[chunk.size()];
+        Set<String> seenEmails = new HashSet<>();
+        List<Integer> candidates = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            UserImportRow row = chunk.get(i);
+            String error = row.error() != null ? row.error() : validate(row);
+            if (error != null) {
+                results[i] = result(row, Status.INVALID, null, error);
+            } else if (!seenEmails.add(row.email())) {
+                results[i] = result(row, Status.DUPLICATE, null, "Email повторяется в загружаемых данных");
+            } else {
+                candidates.add(i);
+            }
+        }
+
+        if (!candidates.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> saveCandidates(chunk, candidates, results));
+            } catch (DataIntegrityViolationException | ConstraintViolationException e) {
+                // email заняли параллельно между проверкой и вставкой; транзакция пачки откатилась целиком,
+                // по одной записи видно, какие из них конфликтуют
+                entityManager.clear();
+                for (int i : candidates) {
+                    results[i] = saveOne(chunk.get(i));
+                }
+            }
+        }
+        return List.of(results);
+    }
+
+    private void saveCandidates(List<UserImportRow> chunk, List<Integer> candidates, UserImportRowDtoOut[] results) {
+        Set<String> emails = candidates.stream().map(i -> chunk.get(i).email()).collect(Collectors.toSet());
+        Set<String> existing = userRepository.findExistingEmails(emails);
+
+        List<Integer> created = new ArrayList<>();
+        List<User> users = new ArrayList<>();
+        for (int i : candidates) {
+            UserImportRow row = chunk.get(i);
+            if (existing.contains(row.email())) {
+                results[i] = result(row, Status.DUPLICATE, null, "Пользователь с таким email уже зарегистрирован");
+                continue;
+            }
+            users.add(toUser(row));
+            created.add(i);
+        }
+        userRepository.saveAll(users);
+        entityManager.flush();
+        entityManager.clear();
+        for (int j = 0; j < users.size(); j++) {
+            int i = created.get(j);
+            Long id = users.get(j).getId();
+            eventPublisher.publishEvent(new UserSavedEvent(id));
+            results[i] = result(chunk.get(i), Status.CREATED, id, null);
+        }
+    }
+
+    private UserImportRowDtoOut saveOne(UserImportRow row) {
+        try {
+            return transactionTemplate.execute(status -> {
+                if (!userRepository.findExistingEmails(Set.of(row.email())).isEmpty()) {
+                    return result(row, Status.DUPLICATE, null, "Пользователь с таким email уже зарегистрирован");
+                }
+                User user = userRepository.save(toUser(row));
+                entityManager.flush();
+                entityManager.clear();
+                eventPublisher.publishEvent(new UserSavedEvent(user.getId()));
+                return result(row, Status.CREATED, user.getId(), null);
+            });
+        } catch (DataIntegrityViolationException | ConstraintViolationException e) {
+            entityManager.clear();
+            return result(row, Status.FAILED, null, "Запись не сохранена: нарушено ограничение базы данных");
+        }
+    }
+
+    private static User toUser(UserImportRow row) {
+        User user = new User(row.nickname(), row.email());
+        user.setCvLink(row.cvLink());
+        return user;
+    }
+
+    private String validate(UserImportRow row) {
+        List<ConstraintViolation<UserDtoIn>> violations = new ArrayList<>();
+        violations.addAll(validator.validateValue(UserDtoIn.class, "nickname", row.nickname()));
+        violations.addAll(validator.validateValue(UserDtoIn.class, "email", row.email()));
+        violations.addAll(validator.validateValue(UserDtoIn.class, "cvLink", row.cvLink()));
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; "));
+    }
+
+    private static UserImportRowDtoOut result(UserImportRow row, Status status, Long id, String error) {
+        return new UserImportRowDtoOut(row.row(), row.email(), status, id, error);
+    }
+}
@@ -2,17 +2,19 @@ package com.vacancy.service;
 
 import com.vacancy.model.entities.User;
 import com.vacancy.model.entities.UserVacancyResponse;
-import com.vacancy.model.entities.Vacancy;
-import org.springframework.data.domain.Page;
+import com.vacancy.model.pagination.CursorPage;
+import com.vacancy.model.search.FavoriteVacancy;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 
 public interface UserService {
-    Page<User> getAllUsers(int page, int size);
+    Slice<User> getAllUsers(int page, int size);
+    CursorPage<User> getUsersAfter(String after, int size);
     User getUserById(Long id);
     User createUser(User user);
-    User updateUser(Long id, User user);
+    User updateUser(Long id, User user, Long expectedVersion);
     void deleteUser(Long id);
-    List<Vacancy> getUserFavorites(Long id);
+    CursorPage<FavoriteVacancy> getUserFavorites(Long id, String after, int size);
     List<UserVacancyResponse> getUserResponses(Long id);
 }
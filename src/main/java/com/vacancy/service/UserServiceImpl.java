@@ -1,16 +1,24 @@
 package com.vacancy.service;
 
+import com.vacancy.events.UserDeletedEvent;
+import com.vacancy.events.UserSavedEvent;
 import com.vacancy.exceptions.RequestException;
 import com.vacancy.model.entities.User;
 import com.vacancy.model.entities.UserVacancyResponse;
-import com.vacancy.model.entities.Vacancy;
+import com.vacancy.model.pagination.Cursor;
+import com.vacancy.model.pagination.CursorPage;
+import com.vacancy.model.search.FavoriteVacancy;
 import com.vacancy.repository.UserRepository;
+import com.vacancy.repository.UserVacancyResponseRepository;
+import com.vacancy.repository.VacancyRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 
-import org.hibernate.Hibernate;
-import org.springframework.data.domain.Page;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -24,14 +32,30 @@ public class UserServiceImpl implements UserService {
     private static final String USER_NOT_FOUND = "Пользователь не найден";
 
     private final UserRepository userRepository;
+    private final VacancyRepository vacancyRepository;
     private final UserVacancyResponseService responseService;
+    private final UserVacancyResponseRepository responseRepository;
+    private final VacancyCounterService counterService;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public Page<User> getAllUsers(int page, int size) {
+    public Slice<User> getAllUsers(int page, int size) {
         if (size > 50) {
             size = 50;
         }
         Pageable pageable = PageRequest.of(page, size);
-        return userRepository.findAll(pageable);
+        return userRepository.findAllBy(pageable);
+    }
+
+    public CursorPage<User> getUsersAfter(String after, int size) {
+        if (size > 50) {
+            size = 50;
+        }
+        if (size < 1) {
+            throw new RequestException(HttpStatus.BAD_REQUEST, "Размер страницы должен быть положительным");
+        }
+        List<User> users = userRepository.findByIdGreaterThanOrderByIdAsc(Cursor.decode(after), Limit.of(size + 1));
+        return CursorPage.of(users, size, User::getId);
     }
 
     public User getUserById(Long id) {
@@ -44,13 +68,21 @@ public class UserServiceImpl implements UserService {
             throw new RequestException(HttpStatus.CONFLICT, "Пользователь с таким email уже зарегистрирован");
         }
         user.setId(0L);
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        eventPublisher.publishEvent(new UserSavedEvent(saved.getId()));
+        return saved;
     }
 
+    /**
+     * expectedVersion - версия из If-Match; null, если клиент не требует проверки.
+     */
     @Transactional
-    public User updateUser(Long id, User user) {
+    public User updateUser(Long id, User user, Long expectedVersion) {
         User existingUser = userRepository.findById(id)
                 .orElseThrow(() -> new RequestException(HttpStatus.NOT_FOUND, USER_NOT_FOUND));
+        if (expectedVersion != null && !expectedVersion.equals(existingUser.getVersion())) {
+            throw new RequestException(HttpStatus.PRECONDITION_FAILED, "Пользователь уже изменен другим запросом");
+        }
 
         if (userRepository.findUserByEmail(user.getEmail()) != null && !existingUser.getEmail().equals(user.getEmail())) {
             throw new RequestException(HttpStatus.CONFLICT, "С таким email уже зарегистрирован другой пользователь");
@@ -59,20 +91,42 @@ public class UserServiceImpl implements UserService {
         existingUser.setNickname(user.getNickname());
         existingUser.setEmail(user.getEmail());
         existingUser.setCvLink(user.getCvLink());
-        
-        return userRepository.save(existingUser);
+
+        User saved = userRepository.save(existingUser);
+        // UPDATE выполняется сейчас, чтобы в ответ ушла уже увеличенная версия
+        entityManager.flush();
+        eventPublisher.publishEvent(new UserSavedEvent(id));
+        return saved;
     }
 
+    /**
+     * Отклики и избранное пользователя удаляются каскадом в базе, поэтому счетчики вакансий
+     * уменьшаются по спискам, прочитанным до удаления.
+     */
+    @Transactional
     public void deleteUser(Long id) {
-        userRepository.deleteById(id);
+        List<Long> respondedVacancyIds = responseRepository.findVacancyIdsByUserId(id);
+        List<Long> favoriteVacancyIds = vacancyRepository.findFavoriteVacancyIds(id);
+        userRepository.deleteUser(id);
+        eventPublisher.publishEvent(new UserDeletedEvent(id));
+        respondedVacancyIds.forEach(vacancyId -> counterService.addResponses(vacancyId, -1));
+        favoriteVacancyIds.forEach(vacancyId -> counterService.addFavorites(vacancyId, -1));
     }
 
-    @Transactional
-    public List<Vacancy> getUserFavorites(Long id) {
-        User user = getUserById(id);
-        List<Vacancy> favorites = user.getFavoriteList();
-        Hibernate.initialize(favorites);
-        return favorites;
+    public CursorPage<FavoriteVacancy> getUserFavorites(Long id, String after, int size) {
+        if (size > 50) {
+            size = 50;
+        }
+        if (size < 1) {
+            throw new RequestException(HttpStatus.BAD_REQUEST, "Размер страницы должен быть положительным");
+        }
+        Cursor.Timed position = Cursor.decodeTimed(after);
+        List<FavoriteVacancy> favorites = vacancyRepository.findFavoritesAfter(id, position.at(), position.id(), size + 1);
+        // пустая страница - единственный случай, когда нужно отличить отсутствующего пользователя
+        if (favorites.isEmpty() && !userRepository.existsById(id)) {
+            throw new RequestException(HttpStatus.NOT_FOUND, USER_NOT_FOUND);
+        }
+        return CursorPage.withCursor(favorites, size, favorite -> Cursor.encode(favorite.getAddedAt(), favorite.getId()));
     }
 
     public List<UserVacancyResponse> getUserResponses(Long id) {
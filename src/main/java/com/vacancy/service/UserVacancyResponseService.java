@@ -3,10 +3,11 @@ package com.vacancy.service;
 import com.vacancy.model.entities.UserVacancyResponse;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface UserVacancyResponseService {
     List<UserVacancyResponse> getUserResponses(Long userId);
     List<UserVacancyResponse> getVacancyResponses(Long vacancyId);
-    void deleteByUserIdAndVacancyId(Long userId, Long vacancyId);
-    UserVacancyResponse addOrReplaceResponse(UserVacancyResponse response);
+    boolean deleteByUserIdAndVacancyId(Long userId, Long vacancyId);
+    Optional<Boolean> addOrReplaceResponse(Long userId, Long vacancyId);
 }
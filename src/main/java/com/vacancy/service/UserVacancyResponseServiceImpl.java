@@ -1,6 +1,7 @@
 package com.vacancy.service;
 
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -26,20 +27,21 @@ public class UserVacancyResponseServiceImpl implements UserVacancyResponseServic
         return responseRepository.findByVacancyId(vacancyId);
     }
 
-    
-    public void deleteByUserIdAndVacancyId(Long userId, Long vacancyId) {
-        responseRepository.deleteByUserIdAndVacancyId(userId, vacancyId);
+    /**
+     * Возвращает false, если такого отклика не было.
+     */
+    @Transactional
+    public boolean deleteByUserIdAndVacancyId(Long userId, Long vacancyId) {
+        return responseRepository.deleteByUserIdAndVacancyId(userId, vacancyId) > 0;
     }
 
+    /**
+     * Создает отклик или обновляет дату существующего одним INSERT ... ON CONFLICT.
+     * Возвращает пустой Optional, если пользователя или вакансии нет, иначе true для нового отклика.
+     */
     @Transactional
-    public UserVacancyResponse addOrReplaceResponse(UserVacancyResponse response) {
-        Long vacancyId = response.getVacancy().getId();
-        Long userId = response.getUser().getId();
-        UserVacancyResponse existing = responseRepository.findByUserIdAndVacancyId(userId, vacancyId).orElse(null);
-        if (existing != null) {
-            responseRepository.delete(existing);
-        }
-        return responseRepository.save(response);
+    public Optional<Boolean> addOrReplaceResponse(Long userId, Long vacancyId) {
+        return responseRepository.upsert(userId, vacancyId);
     }
 
 }
\ No newline at end of file
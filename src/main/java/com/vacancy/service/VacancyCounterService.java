@@ -0,0 +1,12 @@
+package com.vacancy.service;
+
+import com.vacancy.search.VacancyCounters;
+
+public interface VacancyCounterService {
+    VacancyCounters.Counts getVacancyCounts(long vacancyId);
+    VacancyCounters.Counts getOrganizationCounts(long organizationId);
+    void addResponses(long vacancyId, long delta);
+    void addFavorites(long vacancyId, long delta);
+    int flush();
+    int refresh();
+}
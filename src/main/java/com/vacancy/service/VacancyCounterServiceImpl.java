@@ -0,0 +1,244 @@
+package com.vacancy.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.vacancy.events.OrganizationDeletedEvent;
+import com.vacancy.events.VacancyDeletedEvent;
+import com.vacancy.events.VacancySavedEvent;
+import com.vacancy.search.VacancyCounters;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Держит {@link VacancyCounters} в памяти. При старте загружает итоги из vacancy_counters,
+ * дальше считает отклики и избранное по вызовам из VacancyServiceImpl и раз в flush-interval
+ * дописывает накопленные приращения в vacancy_counters одним батчем. Приращения, переданные
+ * внутри транзакции, учитываются только после ее фиксации. Привязка вакансий
+ * к организациям обновляется по событиям, начальная загрузка идет через {@link VacancyStateLoader}.
+ * <p>
+ * Приращения пишутся в базу как "+N", поэтому несколько экземпляров приложения не затирают
+ * друг друга. Чужие приращения попадают в память раз в refresh-interval: итоги перечитываются
+ * из vacancy_counters, и до этого счетчики на разных экземплярах могут расходиться.
+ */
+@Service
+@Slf4j
+public class VacancyCounterServiceImpl implements VacancyCounterService {
+
+    private static final int LOAD_BATCH_SIZE = 5000;
+
+    private record LoadedRow(long vacancyId, Long organizationId, long responses, long favorites) {
+    }
+
+    private static final String LOAD_SQL = """
+            SELECT v.id, v.organization_id, coalesce(c.responses, 0), coalesce(c.favorites, 0)
+            FROM vacancy v LEFT JOIN vacancy_counters c ON c.vacancy_id = v.id
+            WHERE v.id > ?
+            ORDER BY v.id
+            LIMIT ?
+            """;
+
+    // строки удаленных к этому моменту вакансий отбрасываются
+    private static final String FLUSH_SQL = """
+            INSERT INTO vacancy_counters (vacancy_id, responses, favorites)
+            SELECT v.id, ?, ? FROM vacancy v WHERE v.id = ?
+            ON CONFLICT (vacancy_id) DO UPDATE
+            SET responses = vacancy_counters.responses + EXCLUDED.responses,
+                favorites = vacancy_counters.favorites + EXCLUDED.favorites
+            """;
+
+    private static final String REFRESH_SQL = """
+            SELECT vacancy_id, responses, favorites FROM vacancy_counters
+            WHERE vacancy_id > ?
+            ORDER BY vacancy_id
+            LIMIT ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration flushInterval;
+    private final Duration refreshInterval;
+    private final VacancyCounters counters = new VacancyCounters();
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "vacancy-counters-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final VacancyStateLoader loader = new VacancyStateLoader();
+
+    public VacancyCounterServiceImpl(JdbcTemplate jdbcTemplate,
+                                     @Value("${vacancy.counters.flush-interval:5s}") Duration flushInterval,
+                                     @Value("${vacancy.counters.refresh-interval:1m}") Duration refreshInterval) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.flushInterval = flushInterval;
+        this.refreshInterval = refreshInterval;
+    }
+
+    @PostConstruct
+    void start() {
+        long interval = flushInterval.toMillis();
+        flusher.scheduleWithFixedDelay(this::flushQuietly, interval, interval, TimeUnit.MILLISECONDS);
+        long refresh = refreshInterval.toMillis();
+        flusher.scheduleWithFixedDelay(this::refreshQuietly, refresh, refresh, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(10, TimeUnit.SECONDS);
+        flushQuietly();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long started = System.currentTimeMillis();
+        loader.load(lastId -> jdbcTemplate.query(LOAD_SQL, (resultSet, rowNum) -> new LoadedRow(resultSet.getLong(1),
+                        resultSet.getObject(2, Long.class), resultSet.getLong(3), resultSet.getLong(4)), lastId, LOAD_BATCH_SIZE),
+                LoadedRow::vacancyId, LoadedRow::organizationId,
+                row -> counters.load(row.vacancyId(), row.organizationId(), row.responses(), row.favorites()));
+        log.info("Vacancy counters loaded: {} vacancies in {} ms", counters.size(), System.currentTimeMillis() - started);
+    }
+
+    public VacancyCounters.Counts getVacancyCounts(long vacancyId) {
+        return counters.vacancy(vacancyId);
+    }
+
+    public VacancyCounters.Counts getOrganizationCounts(long organizationId) {
+        return counters.organization(organizationId);
+    }
+
+    public void addResponses(long vacancyId, long delta) {
+        afterCommit(() -> counters.addResponses(vacancyId, delta));
+    }
+
+    public void addFavorites(long vacancyId, long delta) {
+        afterCommit(() -> counters.addFavorites(vacancyId, delta));
+    }
+
+    // внутри транзакции приращение применяется после ее фиксации: иначе при откате оно осталось бы
+    // в памяти и flush записал бы в vacancy_counters изменение, которого в базе нет
+    private static void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+
+    /**
+     * Дописывает накопленные приращения в vacancy_counters. До окончания загрузки ничего не пишет,
+     * иначе загрузка прочитала бы из базы уже учтенные в памяти приращения.
+     * <p>
+     * Идет под отдельной блокировкой, а не под монитором сервиса: обработчики событий из потоков запросов
+     * не ждут запись в базу, а виртуальный поток не закрепляется за несущим на время JDBC.
+     */
+    public int flush() {
+        flushLock.lock();
+        try {
+            if (!loader.isReady()) {
+                return 0;
+            }
+            List<VacancyCounters.Delta> deltas = counters.drain();
+            if (deltas.isEmpty()) {
+                return 0;
+            }
+            try {
+                jdbcTemplate.batchUpdate(FLUSH_SQL, deltas, deltas.size(), (statement, delta) -> {
+                    statement.setLong(1, delta.responses());
+                    statement.setLong(2, delta.favorites());
+                    statement.setLong(3, delta.vacancyId());
+                });
+            } catch (DataAccessException e) {
+                // приращения удаленных за это время вакансий restore пропускает
+                counters.restore(deltas);
+                throw e;
+            }
+            return deltas.size();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Перечитывает итоги из vacancy_counters пачками и выравнивает по ним счетчики в памяти.
+     * Каждая пачка читается под блокировкой сброса: иначе приращения, уже снятые сбросом,
+     * но еще не записанные, не попали бы ни в базу, ни в очередь. Возвращает число прочитанных строк.
+     */
+    public int refresh() {
+        if (!loader.isReady()) {
+            return 0;
+        }
+        int total = 0;
+        long lastId = 0;
+        while (true) {
+            List<VacancyCounters.Delta> batch;
+            flushLock.lock();
+            try {
+                batch = jdbcTemplate.query(REFRESH_SQL, (resultSet, rowNum) -> new VacancyCounters.Delta(
+                        resultSet.getLong(1), resultSet.getLong(2), resultSet.getLong(3)), lastId, LOAD_BATCH_SIZE);
+                batch.forEach(row -> counters.reconcile(row.vacancyId(), row.responses(), row.favorites()));
+            } finally {
+                flushLock.unlock();
+            }
+            total += batch.size();
+            if (batch.size() < LOAD_BATCH_SIZE) {
+                return total;
+            }
+            lastId = batch.get(batch.size() - 1).vacancyId();
+        }
+    }
+
+    // сохранение не отменяет загруженную строку: счетчики вакансии из базы по-прежнему нужны
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVacancySaved(VacancySavedEvent event) {
+        counters.setOrganization(event.id(), event.organizationId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVacancyDeleted(VacancyDeletedEvent event) {
+        loader.vacancyChanged(event.id(), () -> counters.removeVacancy(event.id()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrganizationDeleted(OrganizationDeletedEvent event) {
+        loader.organizationDeleted(event.id(), () -> counters.removeOrganization(event.id()));
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            log.error("Failed to refresh vacancy counters, will retry: {}", e.getMessage());
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Failed to write vacancy counters, will retry: {}", e.getMessage());
+        }
+    }
+}
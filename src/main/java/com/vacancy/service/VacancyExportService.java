@@ -0,0 +1,10 @@
+package com.vacancy.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.vacancy.model.export.VacancyExportFormat;
+
+public interface VacancyExportService {
+    long exportVacancies(VacancyExportFormat format, OutputStream out) throws IOException;
+}
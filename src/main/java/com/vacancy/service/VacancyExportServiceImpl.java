@@ -0,0 +1,152 @@
+package com.vacancy.service;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.vacancy.model.entities.Vacancy;
+import com.vacancy.model.export.VacancyExportFormat;
+import com.vacancy.repository.VacancyRepository;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Выгрузка всех вакансий построчно. Строки читаются курсором (VacancyRepository.streamAll),
+ * контекст персистентности очищается каждые {@link VacancyRepository#EXPORT_FETCH_SIZE} строк,
+ * поэтому расход памяти не зависит от размера таблицы.
+ * <p>
+ * NDJSON, CBOR и Smile пишут одни и те же поля одним кодом, отличается только генератор.
+ */
+@Service
+@RequiredArgsConstructor
+public class VacancyExportServiceImpl implements VacancyExportService {
+
+    private static final String CSV_HEADER = "id,description,long_description,min_salary,max_salary,city,organization_id";
+
+    private final VacancyRepository vacancyRepository;
+    private final EntityManager entityManager;
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final CBORFactory cborFactory = new CBORFactory();
+    private final SmileFactory smileFactory = new SmileFactory();
+
+    @Transactional(readOnly = true)
+    public long exportVacancies(VacancyExportFormat format, OutputStream out) throws IOException {
+        long rows = 0;
+        try (Stream<Vacancy> vacancies = vacancyRepository.streamAll()) {
+            Flushable target;
+            RowWriter rowWriter;
+            if (format.isBinary()) {
+                JsonGenerator generator = (format == VacancyExportFormat.CBOR ? cborFactory : smileFactory)
+                        .createGenerator(new BufferedOutputStream(out))
+                        .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                target = generator;
+                rowWriter = vacancy -> writeObject(generator, vacancy);
+            } else {
+                Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+                target = writer;
+                rowWriter = format == VacancyExportFormat.CSV ? csvWriter(writer) : ndjsonWriter(writer);
+            }
+            for (Vacancy vacancy : (Iterable<Vacancy>) vacancies::iterator) {
+                rowWriter.write(vacancy);
+                if (++rows % VacancyRepository.EXPORT_FETCH_SIZE == 0) {
+                    entityManager.clear();
+                    target.flush();
+                }
+            }
+            target.flush();
+        }
+        return rows;
+    }
+
+    private RowWriter ndjsonWriter(Writer writer) throws IOException {
+        JsonGenerator generator = jsonFactory.createGenerator(writer)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+        generator.setRootValueSeparator(null);
+        return vacancy -> {
+            writeObject(generator, vacancy);
+            generator.flush();
+            writer.write('\n');
+        };
+    }
+
+    private static void writeObject(JsonGenerator generator, Vacancy vacancy) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", vacancy.getId());
+        generator.writeStringField("description", vacancy.getDescription());
+        generator.writeStringField("long_description", vacancy.getLongDescription());
+        writeNullableNumber(generator, "min_salary", vacancy.getMinSalary());
+        writeNullableNumber(generator, "max_salary", vacancy.getMaxSalary());
+        generator.writeStringField("city", vacancy.getCity());
+        if (vacancy.getOrganization() != null) {
+            generator.writeNumberField("organization_id", vacancy.getOrganization().getId());
+        } else {
+            generator.writeNullField("organization_id");
+        }
+        generator.writeEndObject();
+    }
+
+    private static void writeNullableNumber(JsonGenerator generator, String field, Integer value) throws IOException {
+        if (value != null) {
+            generator.writeNumberField(field, value);
+        } else {
+            generator.writeNullField(field);
+        }
+    }
+
+    private RowWriter csvWriter(Writer writer) throws IOException {
+        writer.write(CSV_HEADER);
+        writer.write("\r\n");
+        return vacancy -> {
+            writer.write(String.valueOf(vacancy.getId()));
+            writer.write(',');
+            writeCsvValue(writer, vacancy.getDescription());
+            writer.write(',');
+            writeCsvValue(writer, vacancy.getLongDescription());
+            writer.write(',');
+            writeCsvValue(writer, vacancy.getMinSalary());
+            writer.write(',');
+            writeCsvValue(writer, vacancy.getMaxSalary());
+            writer.write(',');
+            writeCsvValue(writer, vacancy.getCity());
+            writer.write(',');
+            writeCsvValue(writer, vacancy.getOrganization() != null ? vacancy.getOrganization().getId() : null);
+            writer.write("\r\n");
+        };
+    }
+
+    // RFC 4180: значение с запятой, кавычкой или переводом строки берется в кавычки, кавычки удваиваются
+    private static void writeCsvValue(Writer writer, Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        boolean quote = text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(Vacancy vacancy) throws IOException;
+    }
+}
@@ -0,0 +1,8 @@
+package com.vacancy.service;
+
+import com.vacancy.search.VacancyFacets;
+
+public interface VacancyFacetService {
+    VacancyFacets.Counts getFacets(String city, Long organizationId);
+    boolean isReady();
+}
@@ -0,0 +1,74 @@
+package com.vacancy.service;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.vacancy.events.OrganizationDeletedEvent;
+import com.vacancy.events.VacancyDeletedEvent;
+import com.vacancy.events.VacancySavedEvent;
+import com.vacancy.exceptions.RequestException;
+import com.vacancy.model.search.VacancySort;
+import com.vacancy.model.search.VacancySummary;
+import com.vacancy.repository.VacancyRepository;
+import com.vacancy.repository.VacancySpecifications;
+import com.vacancy.search.VacancyFacets;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Держит {@link VacancyFacets} в памяти: один раз считает их по базе при старте, дальше
+ * обновляет по событиям сохранения и удаления вакансий из VacancyServiceImpl после коммита.
+ * Загрузка и обработка событий во время нее - через {@link VacancyStateLoader}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class VacancyFacetServiceImpl implements VacancyFacetService {
+
+    private static final int LOAD_BATCH_SIZE = 5000;
+
+    private final VacancyRepository vacancyRepository;
+    private final VacancyFacets facets = new VacancyFacets();
+    private final VacancyStateLoader loader = new VacancyStateLoader();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long started = System.currentTimeMillis();
+        loader.load(lastId -> vacancyRepository.findSummaries(
+                        VacancySpecifications.idGreaterThan(lastId), VacancySort.ID.toSort(), 0, LOAD_BATCH_SIZE),
+                VacancySummary::id, VacancySummary::organizationId,
+                vacancy -> facets.put(vacancy.id(), vacancy.minSalary(), vacancy.maxSalary(), vacancy.city(), vacancy.organizationId()));
+        log.info("Vacancy facets loaded: {} vacancies in {} ms", facets.size(), System.currentTimeMillis() - started);
+    }
+
+    public boolean isReady() {
+        return loader.isReady();
+    }
+
+    public VacancyFacets.Counts getFacets(String city, Long organizationId) {
+        if (!loader.isReady()) {
+            throw new RequestException(HttpStatus.SERVICE_UNAVAILABLE, "Фасеты еще загружаются");
+        }
+        return facets.count(city, organizationId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVacancySaved(VacancySavedEvent event) {
+        loader.vacancyChanged(event.id(),
+                () -> facets.put(event.id(), event.minSalary(), event.maxSalary(), event.city(), event.organizationId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVacancyDeleted(VacancyDeletedEvent event) {
+        loader.vacancyChanged(event.id(), () -> facets.remove(event.id()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrganizationDeleted(OrganizationDeletedEvent event) {
+        loader.organizationDeleted(event.id(), () -> facets.removeOrganization(event.id()));
+    }
+}
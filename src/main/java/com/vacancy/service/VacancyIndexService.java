@@ -0,0 +1,11 @@
+package com.vacancy.service;
+
+import com.vacancy.model.search.VacancyFilter;
+import com.vacancy.search.VacancyIndex;
+
+import java.util.List;
+
+public interface VacancyIndexService {
+    List<VacancyIndex.Hit> search(String query, VacancyFilter filter, int page, int size);
+    boolean isReady();
+}
@@ -0,0 +1,92 @@
+package com.vacancy.service;
+
+import java.util.List;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.vacancy.events.OrganizationDeletedEvent;
+import com.vacancy.events.VacancyDeletedEvent;
+import com.vacancy.events.VacancySavedEvent;
+import com.vacancy.exceptions.RequestException;
+import com.vacancy.model.search.VacancyFilter;
+import com.vacancy.repository.VacancyRepository;
+import com.vacancy.search.VacancyIndex;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Держит {@link VacancyIndex} в памяти: загружает его из базы при старте
+ * и применяет изменения вакансий после коммита транзакции.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class VacancyIndexServiceImpl implements VacancyIndexService {
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+    private static final int MAX_SEARCH_DEPTH = 1000;
+
+    private final VacancyRepository vacancyRepository;
+    private final VacancyIndex index = new VacancyIndex();
+    private final VacancyStateLoader loader = new VacancyStateLoader();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long started = System.currentTimeMillis();
+        loader.load(lastId -> vacancyRepository.findBatchWithOrganization(lastId, Limit.of(LOAD_BATCH_SIZE))
+                        .stream()
+                        .map(VacancySavedEvent::of)
+                        .toList(),
+                VacancySavedEvent::id, VacancySavedEvent::organizationId, this::put);
+        log.info("Vacancy search index loaded: {} vacancies in {} ms", index.size(), System.currentTimeMillis() - started);
+    }
+
+    public boolean isReady() {
+        return loader.isReady();
+    }
+
+    public List<VacancyIndex.Hit> search(String query, VacancyFilter filter, int page, int size) {
+        if (!loader.isReady()) {
+            throw new RequestException(HttpStatus.SERVICE_UNAVAILABLE, "Поисковый индекс еще загружается");
+        }
+        if (query == null || query.isBlank()) {
+            throw new RequestException(HttpStatus.BAD_REQUEST, "Поисковый запрос не может быть пустым");
+        }
+        if (size > 50) {
+            size = 50;
+        }
+        if (size < 1 || page < 0) {
+            throw new RequestException(HttpStatus.BAD_REQUEST, "Некорректные параметры страницы");
+        }
+        if ((long) (page + 1) * size > MAX_SEARCH_DEPTH) {
+            throw new RequestException(HttpStatus.BAD_REQUEST, "Можно просмотреть не более " + MAX_SEARCH_DEPTH + " результатов");
+        }
+        return index.search(query, filter, page * size, size);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVacancySaved(VacancySavedEvent event) {
+        loader.vacancyChanged(event.id(), () -> put(event));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVacancyDeleted(VacancyDeletedEvent event) {
+        loader.vacancyChanged(event.id(), () -> index.remove(event.id()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrganizationDeleted(OrganizationDeletedEvent event) {
+        loader.organizationDeleted(event.id(), () -> index.removeOrganization(event.id()));
+    }
+
+    private void put(VacancySavedEvent vacancy) {
+        index.put(vacancy.id(), vacancy.description(), vacancy.longDescription(),
+                vacancy.minSalary(), vacancy.maxSalary(), vacancy.city(), vacancy.organizationId());
+    }
+}
@@ -0,0 +1,11 @@
+package com.vacancy.service;
+
+import com.vacancy.model.dto.WireFormat;
+import com.vacancy.model.dto.out.CacheRegionStatsDtoOut;
+import com.vacancy.model.pagination.SerializedPage;
+import com.vacancy.model.search.VacancyFilter;
+
+public interface VacancyPageCacheService {
+    SerializedPage getPage(VacancyFilter filter, int page, int size, String after, WireFormat format, boolean exactCount);
+    CacheRegionStatsDtoOut getStatistics();
+}
@@ -0,0 +1,181 @@
+package com.vacancy.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.vacancy.events.OrganizationDeletedEvent;
+import com.vacancy.events.VacancyDeletedEvent;
+import com.vacancy.events.VacancySavedEvent;
+import com.vacancy.model.dto.WireFormat;
+import com.vacancy.model.dto.out.CacheRegionStatsDtoOut;
+import com.vacancy.model.dto.out.VacancySummaryDtoOut;
+import com.vacancy.model.entities.Vacancy;
+import com.vacancy.model.pagination.CursorPage;
+import com.vacancy.model.pagination.SerializedPage;
+import com.vacancy.model.search.VacancyFilter;
+import com.vacancy.model.search.VacancySummary;
+
+/**
+ * Кеш готовых к записи страниц GET /api/vacancies. Страница хранится байтами выбранного формата и gzip,
+ * попадание не обращается к базе, Jackson и компрессору. Ограничен суммарным размером в байтах,
+ * вытесняются редко запрашиваемые страницы. Любое изменение вакансий сбрасывает кеш целиком:
+ * одна запись может сдвинуть все страницы выдачи. Вместе со страницей кешируется и X-Total-Count,
+ * так что попадание не считает строки.
+ * <p>
+ * Постраничная выдача кешируется только для первых max-page страниц, keyset-выдача - только первая
+ * страница (пустой after): курсоры уникальны для каждого обхода и заняли бы кеш записями, которые
+ * почти не запрашиваются повторно. JSON, CBOR и Smile одной страницы - разные записи кеша.
+ */
+@Service
+public class VacancyPageCacheServiceImpl implements VacancyPageCacheService {
+
+    private record Key(VacancyFilter filter, int page, int size, String after, WireFormat format, boolean exactCount) {
+    }
+
+    private static final String REGION = "vacancy-pages";
+
+    private final VacancyService vacancyService;
+    private final TotalCountService totalCountService;
+    private final Map<WireFormat, ObjectMapper> mappers = new EnumMap<>(WireFormat.class);
+    private final int maxPage;
+    private final Cache<Key, SerializedPage> cache;
+    // растет при каждой инвалидации; страница, прочитанная до нее, не остается в кеше
+    private final AtomicLong generation = new AtomicLong();
+
+    public VacancyPageCacheServiceImpl(VacancyService vacancyService,
+                                       TotalCountService totalCountService,
+                                       ObjectMapper objectMapper,
+                                       @Value("${vacancy.page-cache.max-page:5}") int maxPage,
+                                       @Value("${vacancy.page-cache.max-size:32MB}") DataSize maxSize) {
+        this.vacancyService = vacancyService;
+        this.totalCountService = totalCountService;
+        for (WireFormat format : WireFormat.values()) {
+            mappers.put(format, format.mapper(objectMapper));
+        }
+        this.maxPage = maxPage;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((Key key, SerializedPage page) -> page.weight())
+                .recordStats()
+                .build();
+    }
+
+    public SerializedPage getPage(VacancyFilter filter, int page, int size, String after, WireFormat format,
+                                  boolean exactCount) {
+        if (size > 50) {
+            size = 50;
+        }
+        boolean cacheable = after == null ? page < maxPage : after.isEmpty();
+        if (!cacheable) {
+            return load(filter, page, size, after, format, exactCount, false);
+        }
+        Key key = new Key(filter, after == null ? page : 0, size, after, format, exactCount);
+        SerializedPage cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        // загрузка идет вне вычисления Caffeine: запрос к базе не держит блокировку узла кеша,
+        // и invalidateAll не ждет его окончания
+        long seen = generation.get();
+        SerializedPage loaded = load(filter, page, size, after, format, exactCount, true);
+        if (generation.get() != seen) {
+            return loaded;
+        }
+        SerializedPage existing = cache.asMap().putIfAbsent(key, loaded);
+        if (existing != null) {
+            return existing;
+        }
+        if (generation.get() != seen) {
+            // инвалидация прошла между проверкой и вставкой
+            cache.asMap().remove(key, loaded);
+        }
+        return loaded;
+    }
+
+    public CacheRegionStatsDtoOut getStatistics() {
+        CacheStats stats = cache.stats();
+        return new CacheRegionStatsDtoOut(REGION, cache.estimatedSize(), stats.hitCount(), stats.missCount(),
+                stats.hitRate(), stats.evictionCount());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVacancySaved(VacancySavedEvent event) {
+        invalidate();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onVacancyDeleted(VacancyDeletedEvent event) {
+        invalidate();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onOrganizationDeleted(OrganizationDeletedEvent event) {
+        invalidate();
+    }
+
+    private void invalidate() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    private SerializedPage load(VacancyFilter filter, int page, int size, String after, WireFormat format,
+                                boolean exactCount, boolean compress) {
+        Long totalCount = totalCount(filter, exactCount);
+        if (after != null) {
+            CursorPage<VacancySummary> cursorPage = vacancyService.getVacanciesAfter(filter, after, size);
+            byte[] body = serialize(toDtos(cursorPage.content()), format);
+            return new SerializedPage(body, compress ? gzip(body) : null, null, cursorPage.nextCursor(), totalCount);
+        }
+        Slice<VacancySummary> slice = vacancyService.getAllVacancies(filter, page, size);
+        byte[] body = serialize(toDtos(slice.getContent()), format);
+        return new SerializedPage(body, compress ? gzip(body) : null, slice.hasNext(), null, totalCount);
+    }
+
+    // при фильтрации приблизительной оценки нет, поэтому число отдается только по exactCount
+    private Long totalCount(VacancyFilter filter, boolean exactCount) {
+        if (!filter.hasCriteria()) {
+            return totalCountService.getTotalCount(Vacancy.class, exactCount);
+        }
+        return exactCount ? vacancyService.countVacancies(filter) : null;
+    }
+
+    // страница сериализуется в том же виде, что и остальные ответы API
+    private static List<VacancySummaryDtoOut> toDtos(List<VacancySummary> summaries) {
+        return summaries.stream().map(VacancySummaryDtoOut::of).toList();
+    }
+
+    private byte[] serialize(Object content, WireFormat format) {
+        try {
+            return mappers.get(format).writeValueAsBytes(content);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
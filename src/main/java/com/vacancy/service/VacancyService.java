@@ -1,15 +1,25 @@
 package com.vacancy.service;
 
 import com.vacancy.model.entities.Vacancy;
-import org.springframework.data.domain.Page;
+import com.vacancy.model.pagination.CursorPage;
+import com.vacancy.model.search.VacancyFilter;
+import com.vacancy.model.search.VacancySearchHit;
+import com.vacancy.model.search.VacancySummary;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
 
 public interface VacancyService {
-    Page<Vacancy> getAllVacancies(int page, int size);
+    Slice<VacancySummary> getAllVacancies(VacancyFilter filter, int page, int size);
+    CursorPage<VacancySummary> getVacanciesAfter(VacancyFilter filter, String after, int size);
+    long countVacancies(VacancyFilter filter);
+    CursorPage<VacancySearchHit> searchVacancies(String query, String after, int size);
     Vacancy getVacancyById(Long id);
     void respondToVacancy(Long vacancyId, Long userId);
     void removeResponseFromVacancy(Long vacancyId, Long userId);
     void addToFavorites(Long vacancyId, Long userId);
     void removeFromFavorites(Long vacancyId, Long userId);
     Vacancy saveVacancy(Vacancy vacancy);
+    List<Vacancy> saveVacancies(List<Vacancy> vacancies);
     void deleteVacancy(Long id);
 }
@@ -1,36 +1,101 @@
 package com.vacancy.service;
 
 import java.util.List;
+import java.util.Optional;
 
-import org.springframework.data.domain.Page;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.vacancy.events.VacancyDeletedEvent;
+import com.vacancy.events.VacancySavedEvent;
 import com.vacancy.exceptions.RequestException;
-import com.vacancy.model.entities.User;
-import com.vacancy.model.entities.UserVacancyResponse;
 import com.vacancy.model.entities.Vacancy;
+import com.vacancy.model.pagination.Cursor;
+import com.vacancy.model.pagination.CursorPage;
+import com.vacancy.model.search.VacancyFilter;
+import com.vacancy.model.search.VacancySearchHit;
+import com.vacancy.model.search.VacancySort;
+import com.vacancy.model.search.VacancySummary;
 import com.vacancy.repository.VacancyRepository;
+import com.vacancy.repository.VacancySpecifications;
 
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 
 @Service
 @RequiredArgsConstructor
 public class VacancyServiceImpl implements VacancyService {
 
+    private static final int BULK_CHUNK_SIZE = 1000;
+
     private final VacancyRepository vacancyRepository;
     private final UserVacancyResponseService responseService;
     private final UserService userService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final Optional<ResponseWriteBehindService> responseWriteBehind;
+    private final VacancyCounterService counterService;
+
+    public Slice<VacancySummary> getAllVacancies(VacancyFilter filter, int page, int size) {
+        if (size > 50) {
+            size = 50;
+        }
+        validateFilter(filter);
+        Pageable pageable = PageRequest.of(page, size, filter.sort().toSort());
+        List<VacancySummary> vacancies = vacancyRepository.findSummaries(
+                VacancySpecifications.matching(filter), pageable.getSort(), pageable.getOffset(), size + 1);
+        boolean hasNext = vacancies.size() > size;
+        return new SliceImpl<>(hasNext ? vacancies.subList(0, size) : vacancies, pageable, hasNext);
+    }
 
-    public Page<Vacancy> getAllVacancies(int page, int size) {
+    public CursorPage<VacancySummary> getVacanciesAfter(VacancyFilter filter, String after, int size) {
         if (size > 50) {
             size = 50;
         }
-        Pageable pageable = PageRequest.of(page, size);
-        return vacancyRepository.findAll(pageable);
+        if (size < 1) {
+            throw new RequestException(HttpStatus.BAD_REQUEST, "Размер страницы должен быть положительным");
+        }
+        validateFilter(filter);
+        if (filter.sort() != VacancySort.ID) {
+            throw new RequestException(HttpStatus.BAD_REQUEST, "Курсор поддерживается только при сортировке по id");
+        }
+        Specification<Vacancy> spec = VacancySpecifications.matching(filter)
+                .and(VacancySpecifications.idGreaterThan(Cursor.decode(after)));
+        List<VacancySummary> vacancies = vacancyRepository.findSummaries(spec, VacancySort.ID.toSort(), 0, size + 1);
+        return CursorPage.of(vacancies, size, VacancySummary::id);
+    }
+
+    public long countVacancies(VacancyFilter filter) {
+        validateFilter(filter);
+        return vacancyRepository.count(VacancySpecifications.matching(filter));
+    }
+
+    public CursorPage<VacancySearchHit> searchVacancies(String query, String after, int size) {
+        if (size > 50) {
+            size = 50;
+        }
+        if (size < 1) {
+            throw new RequestException(HttpStatus.BAD_REQUEST, "Размер страницы должен быть положительным");
+        }
+        if (query == null || query.isBlank()) {
+            throw new RequestException(HttpStatus.BAD_REQUEST, "Поисковый запрос не может быть пустым");
+        }
+        Cursor.Ranked position = Cursor.decodeRanked(after);
+        List<VacancySearchHit> hits = vacancyRepository.searchByText(query, position.rank(), position.id(), size + 1);
+        return CursorPage.withCursor(hits, size, hit -> Cursor.encode(hit.getRank(), hit.getId()));
+    }
+
+    private void validateFilter(VacancyFilter filter) {
+        if (filter.minSalary() != null && filter.maxSalary() != null && filter.minSalary() > filter.maxSalary()) {
+            throw new RequestException(HttpStatus.BAD_REQUEST, "Минимальная зарплата не может быть больше максимальной");
+        }
     }
 
     public Vacancy getVacancyById(Long id) {
@@ -40,45 +105,77 @@ public class VacancyServiceImpl implements VacancyService {
 
     public void deleteVacancy(Long id) {
         vacancyRepository.deleteById(id);
+        eventPublisher.publishEvent(new VacancyDeletedEvent(id));
     }
 
-    @Transactional
     public void respondToVacancy(Long vacancyId, Long userId) {
-        User user = userService.getUserById(userId);
-        Vacancy vacancy = getVacancyById(vacancyId);
-        responseService.addOrReplaceResponse(new UserVacancyResponse(user, vacancy));
+        if (responseWriteBehind.isPresent()) {
+            // сброс очереди молча отбросил бы отклик на несуществующую вакансию, поэтому 404 - до постановки;
+            // обе сущности обычно читаются из кеша второго уровня, а не из базы
+            userService.getUserById(userId);
+            getVacancyById(vacancyId);
+            responseWriteBehind.get().enqueue(userId, vacancyId);
+            return;
+        }
+        Optional<Boolean> created = responseService.addOrReplaceResponse(userId, vacancyId);
+        if (created.isEmpty()) {
+            userService.getUserById(userId);
+            getVacancyById(vacancyId);
+        } else if (created.get()) {
+            counterService.addResponses(vacancyId, 1);
+        }
     }
 
     @Transactional
     public void removeResponseFromVacancy(Long vacancyId, Long userId) {
-        responseService.deleteByUserIdAndVacancyId(userId, vacancyId);
+        // отклик еще в очереди отложенной записи: без отмены сброс вернул бы его после DELETE
+        responseWriteBehind.ifPresent(writeBehind -> writeBehind.cancel(userId, vacancyId));
+        if (responseService.deleteByUserIdAndVacancyId(userId, vacancyId)) {
+            counterService.addResponses(vacancyId, -1);
+        }
     }
 
     @Transactional
     public void addToFavorites(Long vacancyId, Long userId) {
-        User user = userService.getUserById(userId);
-
-        if (getVacancyByIdFromList(user.getFavoriteList(), vacancyId) == null) {
-            Vacancy vacancy = getVacancyById(vacancyId);
-            user.getFavoriteList().add(vacancy);
+        if (vacancyRepository.insertFavorite(userId, vacancyId) == 0) {
+            // уже в избранном или кого-то из них нет; проверки только на этом редком пути
+            userService.getUserById(userId);
+            getVacancyById(vacancyId);
+        } else {
+            counterService.addFavorites(vacancyId, 1);
         }
     }
 
     @Transactional
     public void removeFromFavorites(Long vacancyId, Long userId) {
-        User user = userService.getUserById(userId);
-        user.getFavoriteList().removeIf(v -> v.getId() == vacancyId);
-    }
-
-    private Vacancy getVacancyByIdFromList(List<Vacancy> list, Long id) {
-        for (Vacancy vacancy : list) {
-            if (vacancy.getId() == id) return vacancy;
+        if (vacancyRepository.deleteFavorite(userId, vacancyId) == 0) {
+            userService.getUserById(userId);
+        } else {
+            counterService.addFavorites(vacancyId, -1);
         }
-        return null;
     }
 
     public Vacancy saveVacancy(Vacancy vacancy) {
-        return vacancyRepository.save(vacancy);
+        Vacancy saved = vacancyRepository.save(vacancy);
+        eventPublisher.publishEvent(VacancySavedEvent.of(saved));
+        return saved;
+    }
+
+    /**
+     * Сохраняет вакансии пачками: INSERT уходят JDBC-батчами (hibernate.jdbc.batch_size),
+     * после каждой пачки контекст персистентности сбрасывается и очищается, чтобы не копить тысячи сущностей.
+     * Возвращенные вакансии отсоединены от контекста.
+     */
+    @Transactional
+    public List<Vacancy> saveVacancies(List<Vacancy> vacancies) {
+        for (int from = 0; from < vacancies.size(); from += BULK_CHUNK_SIZE) {
+            List<Vacancy> chunk = vacancies.subList(from, Math.min(from + BULK_CHUNK_SIZE, vacancies.size()));
+            vacancyRepository.saveAll(chunk);
+            entityManager.flush();
+            entityManager.clear();
+            chunk.forEach(saved -> eventPublisher.publishEvent(VacancySavedEvent.of(saved)));
+        }
+        return vacancies;
     }
 
 }
\ No newline at end of file
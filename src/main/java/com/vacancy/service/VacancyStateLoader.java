@@ -0,0 +1,86 @@
+package com.vacancy.service;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Начальная загрузка структуры в памяти из базы, пока параллельно приходят события изменения вакансий
+ * (VacancyIndexServiceImpl, VacancyFacetServiceImpl, VacancyCounterServiceImpl).
+ * <p>
+ * Строки читаются пачками по возрастанию id. Пока идет загрузка, запоминаются вакансии, которые изменили
+ * или удалили события, и удаленные организации: прочитанная по ним строка могла устареть и пропускается.
+ * События и строки загрузчика применяются под монитором этого объекта, поэтому строка не перезапишет
+ * более позднее событие.
+ */
+final class VacancyStateLoader {
+
+    private final Set<Long> changedWhileLoading = new HashSet<>();
+    private final Set<Long> organizationsDeletedWhileLoading = new HashSet<>();
+    private boolean loading = false;
+    private volatile boolean ready = false;
+
+    /**
+     * batchAfter возвращает следующую пачку строк с id вакансии больше переданного, упорядоченную по id;
+     * apply применяет строку к структуре в памяти, если по ней не было событий.
+     */
+    <T> void load(LongFunction<List<T>> batchAfter, ToLongFunction<T> vacancyId,
+                  Function<T, Long> organizationId, Consumer<T> apply) {
+        synchronized (this) {
+            loading = true;
+        }
+        long lastId = 0;
+        while (true) {
+            List<T> batch = batchAfter.apply(lastId);
+            if (batch.isEmpty()) {
+                break;
+            }
+            for (T row : batch) {
+                applyLoaded(vacancyId.applyAsLong(row), organizationId.apply(row), () -> apply.accept(row));
+            }
+            lastId = vacancyId.applyAsLong(batch.get(batch.size() - 1));
+        }
+        synchronized (this) {
+            loading = false;
+            changedWhileLoading.clear();
+            organizationsDeletedWhileLoading.clear();
+        }
+        ready = true;
+    }
+
+    boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Применяет событие сохранения или удаления вакансии.
+     */
+    synchronized void vacancyChanged(long vacancyId, Runnable change) {
+        if (loading) {
+            changedWhileLoading.add(vacancyId);
+        }
+        change.run();
+    }
+
+    /**
+     * Применяет событие удаления организации.
+     */
+    synchronized void organizationDeleted(long organizationId, Runnable change) {
+        if (loading) {
+            organizationsDeletedWhileLoading.add(organizationId);
+        }
+        change.run();
+    }
+
+    private synchronized void applyLoaded(long vacancyId, Long organizationId, Runnable apply) {
+        if (changedWhileLoading.contains(vacancyId)
+                || (organizationId != null && organizationsDeletedWhileLoading.contains(organizationId))) {
+            return;
+        }
+        apply.run();
+    }
+}
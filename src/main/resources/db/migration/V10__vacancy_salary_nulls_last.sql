@@ -0,0 +1,7 @@
+-- SALARY_DESC больше не отбрасывает вакансии без зарплаты, а ставит их в конец (max_salary DESC NULLS LAST);
+-- индексы перестроены под этот порядок, индекс по зарплате больше не частичный
+DROP INDEX vacancy_city_salary_idx;
+CREATE INDEX vacancy_city_salary_idx ON vacancy (city, max_salary DESC NULLS LAST, id) WHERE city IS NOT NULL;
+
+DROP INDEX vacancy_salary_idx;
+CREATE INDEX vacancy_salary_idx ON vacancy (max_salary DESC NULLS LAST, id) INCLUDE (min_salary);
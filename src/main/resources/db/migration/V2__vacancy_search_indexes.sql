@@ -0,0 +1,10 @@
+-- индексы под фильтрацию GET /api/vacancies (см. VacancySpecifications)
+
+-- city = ? [AND max_salary >= ?] [ORDER BY max_salary DESC, id]
+CREATE INDEX vacancy_city_salary_idx ON vacancy (city, max_salary DESC, id) WHERE city IS NOT NULL;
+
+-- фильтр только по зарплате и сортировка SALARY_DESC без города
+CREATE INDEX vacancy_salary_idx ON vacancy (max_salary DESC, id) INCLUDE (min_salary) WHERE max_salary IS NOT NULL;
+
+-- organization_id = ? ORDER BY id, заодно ускоряет ON DELETE CASCADE при удалении организации
+CREATE INDEX vacancy_organization_id_idx ON vacancy (organization_id, id);
@@ -0,0 +1,10 @@
+-- полнотекстовый поиск по описанию вакансии (VacancyRepository.searchByText)
+-- конфигурация russian стеммит и кириллицу, и латиницу (через english_stem)
+
+ALTER TABLE vacancy ADD COLUMN search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('russian', description), 'A') ||
+        setweight(to_tsvector('russian', long_description), 'B')
+    ) STORED;
+
+CREATE INDEX vacancy_search_vector_idx ON vacancy USING GIN (search_vector);
@@ -0,0 +1,5 @@
+-- Vacancy получает id из vacancy_id_seq блоками по 50 (pooled optimizer Hibernate), что позволяет
+-- пакетную вставку; при IDENTITY Hibernate отправляет каждый INSERT отдельно, чтобы сразу узнать id.
+-- DEFAULT nextval у колонки остается для вставок в обход приложения: такие значения просто пропускают блок.
+-- allocationSize в Vacancy должен совпадать с INCREMENT BY, иначе не пройдет ddl-auto: validate
+ALTER SEQUENCE vacancy_id_seq INCREMENT BY 50;
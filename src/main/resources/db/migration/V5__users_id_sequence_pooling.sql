@@ -0,0 +1,3 @@
+-- как V4 для vacancy: id пользователей выдаются блоками по 50 для пакетной вставки при массовой загрузке
+-- (UserImportServiceImpl); allocationSize в User должен совпадать с INCREMENT BY
+ALTER SEQUENCE users_id_seq INCREMENT BY 50;
@@ -0,0 +1,12 @@
+-- порядок избранного по времени добавления вместо плотного list_index: добавление и удаление
+-- становятся одиночными INSERT/DELETE без перенумерации остальных строк.
+-- Существующий порядок сохраняется сдвигом на list_index микросекунд
+ALTER TABLE user_favorites ADD COLUMN added_at TIMESTAMPTZ NOT NULL DEFAULT now();
+UPDATE user_favorites SET added_at = now() + list_index * INTERVAL '1 microsecond';
+ALTER TABLE user_favorites DROP COLUMN list_index;
+
+-- избранное пользователя в порядке добавления
+CREATE INDEX user_favorites_user_added_idx ON user_favorites (user_id, added_at, vacancy_id);
+
+-- ON DELETE CASCADE при удалении вакансии; первичный ключ (user_id, vacancy_id) для этого не подходит
+CREATE INDEX user_favorites_vacancy_id_idx ON user_favorites (vacancy_id);
@@ -0,0 +1,14 @@
+-- не больше одного отклика пользователя на вакансию: повторный отклик обновляет дату
+-- (UserVacancyResponseRepository.upsert). Из накопившихся дублей остается самый поздний
+DELETE FROM user_vacancy_response r
+USING user_vacancy_response newer
+WHERE r.user_id = newer.user_id
+  AND r.vacancy_id = newer.vacancy_id
+  AND (r.response_date, r.id) < (newer.response_date, newer.id);
+
+-- уникальный индекс заодно обслуживает поиск откликов пользователя по user_id
+ALTER TABLE user_vacancy_response
+    ADD CONSTRAINT user_vacancy_response_user_vacancy_key UNIQUE (user_id, vacancy_id);
+
+-- отклики на вакансию по дате и ON DELETE CASCADE при удалении вакансии
+CREATE INDEX user_vacancy_response_vacancy_date_idx ON user_vacancy_response (vacancy_id, response_date, id);
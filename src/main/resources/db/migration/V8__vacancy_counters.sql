@@ -0,0 +1,14 @@
+-- счетчики откликов и избранного по вакансиям (VacancyCounterServiceImpl);
+-- приложение дописывает сюда приращения пачками, а не пересчитывает count(*) на каждый запрос
+CREATE TABLE vacancy_counters (
+    vacancy_id BIGINT PRIMARY KEY REFERENCES vacancy(id) ON DELETE CASCADE,
+    responses BIGINT NOT NULL DEFAULT 0,
+    favorites BIGINT NOT NULL DEFAULT 0
+);
+
+INSERT INTO vacancy_counters (vacancy_id, responses, favorites)
+SELECT v.id, coalesce(r.cnt, 0), coalesce(f.cnt, 0)
+FROM vacancy v
+LEFT JOIN (SELECT vacancy_id, count(*) AS cnt FROM user_vacancy_response GROUP BY vacancy_id) r ON r.vacancy_id = v.id
+LEFT JOIN (SELECT vacancy_id, count(*) AS cnt FROM user_favorites GROUP BY vacancy_id) f ON f.vacancy_id = v.id
+WHERE r.cnt IS NOT NULL OR f.cnt IS NOT NULL;
@@ -0,0 +1,13 @@
+-- номер версии для оптимистичной блокировки и ETag (@Version в сущностях) и время последнего изменения;
+-- строки, вставленные мимо Hibernate, получают значения по умолчанию
+ALTER TABLE vacancy
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN updated_at TIMESTAMPTZ NOT NULL DEFAULT now();
+
+ALTER TABLE organization
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN updated_at TIMESTAMPTZ NOT NULL DEFAULT now();
+
+ALTER TABLE users
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0,
+    ADD COLUMN updated_at TIMESTAMPTZ NOT NULL DEFAULT now();
@@ -0,0 +1,205 @@
+package com.vacancy.model.dto;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.vacancy.model.dto.in.OrganizationDtoIn;
+import com.vacancy.model.dto.in.UserDtoIn;
+import com.vacancy.model.dto.in.VacancyDtoIn;
+import com.vacancy.model.dto.out.OrganizationDtoOut;
+import com.vacancy.model.dto.out.UserDtoOut;
+import com.vacancy.model.dto.out.UserVacancyResponseDtoOut;
+import com.vacancy.model.dto.out.VacancyDtoOut;
+import com.vacancy.model.dto.out.VacancySummaryDtoOut;
+import com.vacancy.model.entities.Organization;
+import com.vacancy.model.entities.User;
+import com.vacancy.model.entities.UserVacancyResponse;
+import com.vacancy.model.entities.Vacancy;
+import com.vacancy.model.search.VacancySummary;
+
+/**
+ * Ручные мапперы сверяются с DTO через рефлексию: каждое поле DTO должно быть заполнено значением
+ * одноименного свойства сущности. Новое поле без маппинга роняет тест, пока его не внесут в исключения.
+ */
+class DtoMappersTest {
+
+    private int sequence;
+
+    @Test
+    void vacancyDtoOutTest() {
+        Vacancy vacancy = fill(new Vacancy("description", "long description"));
+        // счетчики заполняет контроллер из VacancyCounterService
+        assertMapped(VacancyDtoOut.of(vacancy), vacancy, Set.of("responseCount", "favoriteCount"));
+    }
+
+    @Test
+    void userDtoOutTest() {
+        User user = fill(new User("nickname", "user@example.com"));
+        assertMapped(UserDtoOut.of(user), user, Set.of());
+    }
+
+    @Test
+    void organizationDtoOutTest() {
+        Organization organization = fill(new Organization("nickname", "org@example.com"));
+        assertMapped(OrganizationDtoOut.of(organization), organization, Set.of("responseCount", "favoriteCount"));
+    }
+
+    @Test
+    void userVacancyResponseDtoOutTest() {
+        User user = fill(new User("nickname", "user@example.com"));
+        Vacancy vacancy = fill(new Vacancy("description", "long description"));
+        UserVacancyResponse response = fill(new UserVacancyResponse(user, vacancy));
+
+        UserVacancyResponseDtoOut dto = UserVacancyResponseDtoOut.of(response);
+
+        // id связанных сущностей называются иначе, чем свойства отклика, и сверяются явно
+        assertMapped(dto, response, Set.of("userId", "vacancyId"));
+        assertEquals(user.getId(), dto.getUserId());
+        assertEquals(vacancy.getId(), dto.getVacancyId());
+    }
+
+    @Test
+    void vacancySummaryDtoOutTest() throws ReflectiveOperationException {
+        RecordComponent[] components = VacancySummary.class.getRecordComponents();
+        Object[] values = new Object[components.length];
+        Class<?>[] types = new Class<?>[components.length];
+        for (int i = 0; i < components.length; i++) {
+            types[i] = components[i].getType();
+            values[i] = sample(types[i], components[i].getName());
+        }
+        VacancySummary summary = VacancySummary.class.getDeclaredConstructor(types).newInstance(values);
+
+        assertMapped(VacancySummaryDtoOut.of(summary), summary, Set.of());
+    }
+
+    @Test
+    void vacancyDtoInTest() {
+        VacancyDtoIn dto = fill(newInstance(VacancyDtoIn.class));
+
+        Vacancy vacancy = dto.toEntity();
+
+        // organization_id намеренно не переносится: организацию задает сервис по пути запроса,
+        // а ModelMapper когда-то копировал его и в id вакансии
+        assertMapped(dto, vacancy, Set.of("organizationId"));
+        assertNull(vacancy.getOrganization());
+        assertEquals(0, vacancy.getId());
+    }
+
+    @Test
+    void userDtoInTest() {
+        UserDtoIn dto = fill(newInstance(UserDtoIn.class));
+        assertMapped(dto, dto.toEntity(), Set.of());
+    }
+
+    @Test
+    void organizationDtoInTest() {
+        OrganizationDtoIn dto = fill(newInstance(OrganizationDtoIn.class));
+        assertMapped(dto, dto.toEntity(), Set.of());
+    }
+
+    /**
+     * Сверяет каждое поле DTO с одноименным свойством другой стороны маппинга.
+     * Поля из skipped не сверяются, но обязаны существовать, чтобы устаревшее исключение тоже было заметно.
+     */
+    private static void assertMapped(Object dto, Object other, Set<String> skipped) {
+        Map<String, Object> fields = fields(dto);
+        assertTrue(fields.keySet().containsAll(skipped), "Unknown skipped fields " + skipped + " in " + fields.keySet());
+        fields.forEach((name, value) -> {
+            if (skipped.contains(name)) {
+                return;
+            }
+            assertNotNull(value, dto.getClass().getSimpleName() + "." + name + " is not mapped");
+            assertEquals(value, property(other, name), dto.getClass().getSimpleName() + "." + name);
+        });
+    }
+
+    private static Map<String, Object> fields(Object object) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        for (Field field : object.getClass().getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers())) {
+                field.setAccessible(true);
+                try {
+                    fields.put(field.getName(), field.get(object));
+                } catch (IllegalAccessException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+        return fields;
+    }
+
+    private static Object property(Object object, String name) {
+        try {
+            Field field = object.getClass().getDeclaredField(name);
+            field.setAccessible(true);
+            return field.get(object);
+        } catch (NoSuchFieldException e) {
+            return fail(object.getClass().getSimpleName() + " has no property " + name);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // заполняет поля простых типов разными значениями, чтобы перепутанные поля не совпали случайно
+    private <T> T fill(T object) {
+        for (Field field : object.getClass().getDeclaredFields()) {
+            Object value = sample(field.getType(), field.getName());
+            if (value == null || Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+            field.setAccessible(true);
+            try {
+                field.set(object, value);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return object;
+    }
+
+    private Object sample(Class<?> type, String name) {
+        int value = ++sequence;
+        if (type == String.class) {
+            return name + "-" + value;
+        }
+        if (type == Integer.class || type == int.class) {
+            return value;
+        }
+        if (type == Long.class || type == long.class) {
+            return (long) value;
+        }
+        if (type == Instant.class) {
+            return Instant.ofEpochSecond(value);
+        }
+        if (type == OffsetDateTime.class) {
+            return OffsetDateTime.of(2024, 1, value % 28 + 1, 0, 0, 0, 0, ZoneOffset.UTC);
+        }
+        return null;
+    }
+
+    private static <T> T newInstance(Class<T> type) {
+        try {
+            Constructor<T> constructor = type.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return constructor.newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
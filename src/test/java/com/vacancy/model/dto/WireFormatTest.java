@@ -0,0 +1,95 @@
+package com.vacancy.model.dto;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.vacancy.exceptions.RequestException;
+import com.vacancy.model.dto.out.UserDtoOut;
+import com.vacancy.model.dto.out.VacancyDtoOut;
+import com.vacancy.model.dto.out.VacancySummaryDtoOut;
+import com.vacancy.model.entities.User;
+import com.vacancy.model.entities.Vacancy;
+
+class WireFormatTest {
+
+    // как у маппера Spring Boot: даты строками ISO-8601
+    private final ObjectMapper json = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    @Test
+    void negotiateTest() {
+        assertEquals(WireFormat.JSON, WireFormat.negotiate(null));
+        assertEquals(WireFormat.JSON, WireFormat.negotiate("*/*"));
+        assertEquals(WireFormat.JSON, WireFormat.negotiate("application/json"));
+        assertEquals(WireFormat.CBOR, WireFormat.negotiate("application/cbor"));
+        assertEquals(WireFormat.SMILE, WireFormat.negotiate("application/x-jackson-smile, */*;q=0.1"));
+        // точный тип важнее шаблона с тем же q
+        assertEquals(WireFormat.CBOR, WireFormat.negotiate("*/*, application/cbor"));
+        assertEquals(WireFormat.JSON, WireFormat.negotiate("application/cbor;q=0.5, application/json"));
+        assertEquals(WireFormat.JSON, WireFormat.negotiate("application/cbor;q=0, application/*"));
+
+        RequestException notAcceptable = assertThrows(RequestException.class, () -> WireFormat.negotiate("text/html"));
+        assertEquals(HttpStatus.NOT_ACCEPTABLE, notAcceptable.code);
+        RequestException malformed = assertThrows(RequestException.class, () -> WireFormat.negotiate("application"));
+        assertEquals(HttpStatus.BAD_REQUEST, malformed.code);
+    }
+
+    @Test
+    void binaryFormatsShouldBeSmallerThanJson() throws Exception {
+        List<VacancySummaryDtoOut> summaries = new ArrayList<>();
+        List<VacancyDtoOut> vacancies = new ArrayList<>();
+        for (long i = 0; i < 50; i++) {
+            Vacancy vacancy = new Vacancy("Java Developer " + i, "Backend development with Spring and Postgres ".repeat(10));
+            vacancy.setId(100_000L + i);
+            vacancy.setMinSalary(100_000);
+            vacancy.setMaxSalary(200_000 + (int) i * 1000);
+            vacancy.setCity("Moscow");
+            vacancy.setUpdatedAt(Instant.parse("2025-03-01T10:15:30Z").plusSeconds(i));
+            summaries.add(new VacancySummaryDtoOut(vacancy.getId(), vacancy.getDescription(), vacancy.getMinSalary(),
+                    vacancy.getMaxSalary(), vacancy.getCity(), 7L));
+            vacancies.add(VacancyDtoOut.of(vacancy));
+        }
+        int jsonSummaries = json.writeValueAsBytes(summaries).length;
+        int jsonVacancies = json.writeValueAsBytes(vacancies).length;
+
+        for (WireFormat format : List.of(WireFormat.CBOR, WireFormat.SMILE)) {
+            ObjectMapper mapper = format.mapper(json);
+            assertTrue(mapper.writeValueAsBytes(summaries).length < jsonSummaries, format + " summaries");
+            assertTrue(mapper.writeValueAsBytes(vacancies).length < jsonVacancies, format + " vacancies");
+        }
+    }
+
+    @Test
+    void roundTripTest() throws Exception {
+        List<VacancySummaryDtoOut> page = List.of(
+                new VacancySummaryDtoOut(1L, "Java Developer", 100000, 200000, "Moscow", 7L),
+                new VacancySummaryDtoOut(2L, "QA", null, null, null, null));
+        User user = new User("Ivan", "ivan@example.com");
+        user.setId(3L);
+        user.setUpdatedAt(Instant.parse("2026-01-01T00:00:00Z"));
+        UserDtoOut userDto = UserDtoOut.of(user);
+        JsonNode expectedUser = json.readTree(json.writeValueAsBytes(userDto));
+
+        for (WireFormat format : WireFormat.values()) {
+            ObjectMapper mapper = format.mapper(json);
+            byte[] body = mapper.writeValueAsBytes(page);
+            assertEquals(page, mapper.readValue(body, new TypeReference<List<VacancySummaryDtoOut>>() {}));
+            // те же snake_case поля и те же значения, что в JSON
+            assertEquals(expectedUser, mapper.readTree(mapper.writeValueAsBytes(userDto)));
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.vacancy.model.export;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import com.vacancy.exceptions.RequestException;
+
+class VacancyExportFormatTest {
+
+    @Test
+    void fromAcceptTest() {
+        assertEquals(VacancyExportFormat.NDJSON, VacancyExportFormat.fromAccept(null));
+        assertEquals(VacancyExportFormat.NDJSON, VacancyExportFormat.fromAccept("*/*"));
+        assertEquals(VacancyExportFormat.CSV, VacancyExportFormat.fromAccept("text/csv"));
+        assertEquals(VacancyExportFormat.CSV, VacancyExportFormat.fromAccept("text/*"));
+        assertEquals(VacancyExportFormat.CBOR, VacancyExportFormat.fromAccept("application/cbor"));
+        assertEquals(VacancyExportFormat.CBOR, VacancyExportFormat.fromAccept("application/cbor-seq"));
+        // решает q, а не порядок в заголовке
+        assertEquals(VacancyExportFormat.SMILE,
+                VacancyExportFormat.fromAccept("text/csv;q=0.5, application/x-jackson-smile"));
+        assertEquals(VacancyExportFormat.CSV, VacancyExportFormat.fromAccept("*/*;q=0.1, text/csv"));
+        assertEquals(VacancyExportFormat.NDJSON, VacancyExportFormat.fromAccept("text/csv;q=0, */*"));
+
+        RequestException notAcceptable = assertThrows(RequestException.class,
+                () -> VacancyExportFormat.fromAccept("application/json"));
+        assertEquals(HttpStatus.NOT_ACCEPTABLE, notAcceptable.code);
+        RequestException malformed = assertThrows(RequestException.class,
+                () -> VacancyExportFormat.fromAccept("application"));
+        assertEquals(HttpStatus.BAD_REQUEST, malformed.code);
+    }
+}
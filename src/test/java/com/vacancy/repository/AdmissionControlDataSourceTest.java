@@ -0,0 +1,56 @@
+package com.vacancy.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+
+class AdmissionControlDataSourceTest {
+
+    private final DataSource target = mock(DataSource.class);
+    private final AdmissionControlDataSource dataSource =
+            new AdmissionControlDataSource(target, 1, Duration.ofMillis(50));
+
+    @Test
+    void admissionTest() throws SQLException {
+        Connection pooled = mock(Connection.class);
+        when(target.getConnection()).thenReturn(pooled);
+
+        Connection connection = dataSource.getConnection();
+        assertSame(pooled, ((ConnectionProxy) connection).getTargetConnection());
+        assertEquals(0, dataSource.getAvailablePermits());
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+
+        // повторный close не возвращает лишнее разрешение
+        connection.close();
+        connection.close();
+        assertTrue(connection.isClosed());
+        verify(pooled, times(1)).close();
+        assertEquals(1, dataSource.getAvailablePermits());
+
+        dataSource.getConnection().close();
+        assertEquals(1, dataSource.getAvailablePermits());
+    }
+
+    @Test
+    void targetFailureReleasesPermitTest() throws SQLException {
+        when(target.getConnection()).thenThrow(new SQLTransientConnectionException("pool timeout"));
+
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        assertEquals(1, dataSource.getAvailablePermits());
+    }
+}
@@ -0,0 +1,103 @@
+package com.vacancy.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.vacancy.search.VacancyCounters.Counts;
+import com.vacancy.search.VacancyCounters.Delta;
+
+class VacancyCountersTest {
+
+    private VacancyCounters counters;
+
+    @BeforeEach
+    void setUp() {
+        counters = new VacancyCounters();
+        counters.load(1, 10L, 5, 2);
+        counters.load(2, 10L, 1, 0);
+        counters.load(3, 20L, 0, 7);
+    }
+
+    @Test
+    void loadTest() {
+        assertEquals(new Counts(5, 2), counters.vacancy(1));
+        assertEquals(new Counts(6, 2), counters.organization(10));
+        assertEquals(new Counts(0, 7), counters.organization(20));
+        assertEquals(Counts.ZERO, counters.vacancy(99));
+        assertTrue(counters.drain().isEmpty());
+    }
+
+    @Test
+    void reconcile_shouldTakeStoredTotalsPlusPendingDeltas() {
+        counters.addResponses(1, 2);
+        // другой экземпляр записал в базу еще 3 отклика; свои 2 приращения сюда еще не записаны
+        counters.reconcile(1, 8, 2);
+        counters.reconcile(99, 4, 4);
+
+        assertEquals(new Counts(10, 2), counters.vacancy(1));
+        assertEquals(new Counts(11, 2), counters.organization(10));
+        assertEquals(Counts.ZERO, counters.vacancy(99));
+        assertEquals(List.of(new Delta(1, 2, 0)), counters.drain());
+    }
+
+    @Test
+    void addTest() {
+        counters.addResponses(1, 1);
+        counters.addFavorites(1, 1);
+        counters.addFavorites(3, -1);
+
+        assertEquals(new Counts(6, 3), counters.vacancy(1));
+        assertEquals(new Counts(7, 3), counters.organization(10));
+        assertEquals(new Counts(0, 6), counters.organization(20));
+    }
+
+    @Test
+    void drain_shouldReturnOnlyChangesSinceLastDrain() {
+        counters.addResponses(1, 1);
+        counters.addResponses(1, 1);
+        counters.addFavorites(2, 1);
+        counters.addFavorites(2, -1);
+
+        assertEquals(List.of(new Delta(1, 2, 0)), counters.drain());
+        assertTrue(counters.drain().isEmpty());
+    }
+
+    @Test
+    void restore_shouldReturnDeltasToNextDrain() {
+        counters.addResponses(1, 1);
+        List<Delta> deltas = counters.drain();
+        counters.addResponses(1, 1);
+
+        counters.restore(deltas);
+
+        assertEquals(List.of(new Delta(1, 2, 0)), counters.drain());
+        assertEquals(new Counts(7, 2), counters.vacancy(1));
+    }
+
+    @Test
+    void setOrganization_shouldMoveCountsAddedBefore() {
+        counters.addResponses(4, 3);
+        assertEquals(new Counts(6, 2), counters.organization(10));
+
+        counters.setOrganization(4, 10L);
+
+        assertEquals(new Counts(9, 2), counters.organization(10));
+    }
+
+    @Test
+    void removeTest() {
+        counters.removeVacancy(1);
+        assertEquals(Counts.ZERO, counters.vacancy(1));
+        assertEquals(new Counts(1, 0), counters.organization(10));
+
+        counters.removeOrganization(10);
+        assertEquals(Counts.ZERO, counters.vacancy(2));
+        assertEquals(Counts.ZERO, counters.organization(10));
+        assertEquals(1, counters.size());
+    }
+}
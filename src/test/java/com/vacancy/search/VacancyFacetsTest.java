@@ -0,0 +1,90 @@
+package com.vacancy.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.vacancy.model.search.SalaryBucket;
+
+class VacancyFacetsTest {
+
+    private VacancyFacets facets;
+
+    @BeforeEach
+    void setUp() {
+        facets = new VacancyFacets();
+        facets.put(1, 100_000, 200_000, "Moscow", 10L);
+        facets.put(2, 40_000, null, "Kazan", 10L);
+        facets.put(3, 300_000, 400_000, "Moscow", 20L);
+        facets.put(4, null, null, null, null);
+    }
+
+    @Test
+    void countTest() {
+        VacancyFacets.Counts counts = facets.count(null, null);
+
+        assertEquals(List.of("Moscow", "Kazan"), List.copyOf(counts.cities().keySet()));
+        assertEquals(2, counts.cities().get("Moscow"));
+        assertEquals(Map.of(SalaryBucket.UNDER_50K, 1, SalaryBucket.FROM_150K_TO_250K, 1,
+                SalaryBucket.FROM_250K, 1, SalaryBucket.NOT_SPECIFIED, 1), counts.salaryBuckets());
+        assertEquals(List.of(10L, 20L), List.copyOf(counts.organizations().keySet()));
+    }
+
+    @Test
+    void count_shouldNotFilterFacetByItsOwnDimension() {
+        VacancyFacets.Counts counts = facets.count("Moscow", null);
+
+        assertEquals(Map.of("Moscow", 2, "Kazan", 1), counts.cities());
+        assertEquals(Map.of(SalaryBucket.FROM_150K_TO_250K, 1, SalaryBucket.FROM_250K, 1), counts.salaryBuckets());
+        assertEquals(Map.of(10L, 1, 20L, 1), counts.organizations());
+
+        assertEquals(Map.of("Moscow", 1, "Kazan", 1), facets.count(null, 10L).cities());
+    }
+
+    @Test
+    void put_shouldMoveVacancyBetweenCombinations() {
+        facets.put(1, 100_000, 120_000, "Kazan", 10L);
+
+        VacancyFacets.Counts counts = facets.count(null, null);
+        assertEquals(Map.of("Kazan", 2, "Moscow", 1), counts.cities());
+        assertEquals(1, counts.salaryBuckets().get(SalaryBucket.FROM_100K_TO_150K));
+        assertFalse(counts.salaryBuckets().containsKey(SalaryBucket.FROM_150K_TO_250K));
+        assertEquals(4, facets.size());
+    }
+
+    @Test
+    void removeTest() {
+        assertTrue(facets.remove(3));
+        assertFalse(facets.remove(3));
+
+        assertEquals(Map.of(10L, 2), facets.count(null, null).organizations());
+        assertEquals(3, facets.size());
+    }
+
+    @Test
+    void removeOrganizationTest() {
+        assertEquals(2, facets.removeOrganization(10L));
+
+        VacancyFacets.Counts counts = facets.count(null, null);
+        assertEquals(Map.of("Moscow", 1), counts.cities());
+        assertEquals(Map.of(20L, 1), counts.organizations());
+        assertEquals(2, facets.size());
+
+        facets.put(2, 40_000, null, "Kazan", 10L);
+        assertEquals(Map.of(10L, 1, 20L, 1), facets.count(null, null).organizations());
+    }
+
+    @Test
+    void salaryBucketTest() {
+        assertEquals(SalaryBucket.UNDER_50K, SalaryBucket.of(null, 49_999));
+        assertEquals(SalaryBucket.FROM_50K_TO_100K, SalaryBucket.of(10_000, 50_000));
+        assertEquals(SalaryBucket.FROM_250K, SalaryBucket.of(250_000, null));
+        assertEquals(SalaryBucket.NOT_SPECIFIED, SalaryBucket.of(null, null));
+    }
+}
@@ -0,0 +1,111 @@
+package com.vacancy.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.vacancy.model.search.VacancyFilter;
+
+class VacancyIndexTest {
+
+    private VacancyIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new VacancyIndex();
+        index.put(1, "Java Developer", "Spring, Hibernate, Postgres", 100, 200, "Moscow", 10L);
+        index.put(2, "Python Developer", "Django and Postgres, немного Java", 150, 250, "Kazan", 10L);
+        index.put(3, "Java Team Lead", "Java, Java, Kafka", 300, 400, "Moscow", 20L);
+        index.put(4, "Designer", "Figma", null, null, null, null);
+    }
+
+    @Test
+    void searchTest() {
+        List<VacancyIndex.Hit> hits = index.search("java", VacancyFilter.NONE, 0, 10);
+
+        assertEquals(3, hits.size());
+        assertEquals(3, hits.get(0).vacancyId());
+        assertTrue(hits.get(0).score() > hits.get(1).score());
+        assertEquals("Moscow", hits.get(0).city());
+        assertEquals(20L, hits.get(0).organizationId());
+    }
+
+    @Test
+    void search_shouldBeCaseInsensitive() {
+        assertEquals(1, index.search("НЕМНОГО", VacancyFilter.NONE, 0, 10).size());
+        assertEquals(2, index.search("postgres", VacancyFilter.NONE, 0, 10).size());
+    }
+
+    @Test
+    void search_shouldApplyFilter() {
+        List<VacancyIndex.Hit> moscow = index.search("java", new VacancyFilter("Moscow", null, null, null, null), 0, 10);
+        assertEquals(List.of(3L, 1L), moscow.stream().map(VacancyIndex.Hit::vacancyId).toList());
+
+        List<VacancyIndex.Hit> salary = index.search("java", new VacancyFilter(null, 220, 260, null, null), 0, 10);
+        assertEquals(1, salary.size());
+        assertEquals(2, salary.get(0).vacancyId());
+
+        List<VacancyIndex.Hit> organization = index.search("java", new VacancyFilter(null, null, null, 20L, null), 0, 10);
+        assertEquals(1, organization.size());
+
+        assertTrue(index.search("java", new VacancyFilter("Omsk", null, null, null, null), 0, 10).isEmpty());
+    }
+
+    @Test
+    void search_shouldPage() {
+        List<VacancyIndex.Hit> all = index.search("java", VacancyFilter.NONE, 0, 10);
+        List<VacancyIndex.Hit> second = index.search("java", VacancyFilter.NONE, 1, 1);
+
+        assertEquals(1, second.size());
+        assertEquals(all.get(1).vacancyId(), second.get(0).vacancyId());
+        assertTrue(index.search("java", VacancyFilter.NONE, 3, 1).isEmpty());
+    }
+
+    @Test
+    void putTest_shouldReplacePreviousVersion() {
+        index.put(4, "Java Designer", "Figma", null, null, null, null);
+
+        assertEquals(4, index.size());
+        assertEquals(4, index.search("java", VacancyFilter.NONE, 0, 10).size());
+        assertEquals(1, index.search("figma", VacancyFilter.NONE, 0, 10).size());
+    }
+
+    @Test
+    void removeTest() {
+        assertTrue(index.remove(3));
+        assertFalse(index.remove(3));
+
+        assertFalse(index.contains(3));
+        assertEquals(2, index.search("java", VacancyFilter.NONE, 0, 10).size());
+    }
+
+    @Test
+    void removeOrganizationTest() {
+        assertEquals(2, index.removeOrganization(10L));
+
+        List<VacancyIndex.Hit> hits = index.search("java", VacancyFilter.NONE, 0, 10);
+        assertEquals(1, hits.size());
+        assertEquals(3, hits.get(0).vacancyId());
+    }
+
+    @Test
+    void search_shouldSurviveCompaction() {
+        for (int round = 0; round < 3; round++) {
+            for (long id = 100; id < 3100; id++) {
+                index.put(id, "Vacancy " + id, round == 2 ? "kotlin" : "scala", 1, 2, "Omsk", null);
+            }
+        }
+
+        assertEquals(3004, index.size());
+        assertEquals(1000, index.search("kotlin", VacancyFilter.NONE, 0, 1000).size());
+        assertTrue(index.search("scala", VacancyFilter.NONE, 0, 10).isEmpty());
+        assertEquals(3, index.search("java", VacancyFilter.NONE, 0, 10).size());
+        assertEquals(1, index.search("vacancy 2500", VacancyFilter.NONE, 0, 1).size());
+        assertEquals(2500, index.search("2500", VacancyFilter.NONE, 0, 1).get(0).vacancyId());
+    }
+}
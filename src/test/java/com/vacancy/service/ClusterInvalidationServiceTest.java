@@ -0,0 +1,194 @@
+package com.vacancy.service;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import com.vacancy.VacancyApplication;
+import com.vacancy.exceptions.RequestException;
+import com.vacancy.model.entities.Organization;
+import com.vacancy.model.entities.User;
+import com.vacancy.model.entities.Vacancy;
+import com.vacancy.model.search.VacancyFilter;
+import com.vacancy.repository.OrganizationRepository;
+import com.vacancy.repository.UserRepository;
+import com.vacancy.repository.UserVacancyResponseRepository;
+import com.vacancy.repository.VacancyRepository;
+
+/**
+ * Два экземпляра приложения на одной базе: этот тестовый контекст и второй, поднятый вручную.
+ */
+@SpringBootTest
+class ClusterInvalidationServiceTest {
+
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17");
+    static ConfigurableApplicationContext otherNode;
+
+    @Autowired
+    ClusterInvalidationService invalidationService;
+    @Autowired
+    OrganizationService organizationService;
+    @Autowired
+    UserService userService;
+    @Autowired
+    UserImportService userImportService;
+    @Autowired
+    VacancyService vacancyService;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    VacancyRepository vacancyRepository;
+    @Autowired
+    OrganizationRepository organizationRepository;
+    @Autowired
+    UserVacancyResponseRepository responseRepository;
+
+    private VacancyService otherVacancyService;
+    private VacancyIndexService otherIndexService;
+    private UserService otherUserService;
+    private OrganizationService otherOrganizationService;
+    private Organization testOrganization;
+    private Vacancy testVacancy;
+    private User testUser;
+
+    @BeforeAll
+    static void beforeAll() {
+        postgres.start();
+    }
+
+    @AfterAll
+    static void afterAll() {
+        if (otherNode != null) {
+            otherNode.close();
+        }
+        postgres.stop();
+    }
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.flyway.url", postgres::getJdbcUrl);
+        registry.add("spring.flyway.user", postgres::getUsername);
+        registry.add("spring.flyway.password", postgres::getPassword);
+    }
+
+    @BeforeEach
+    void setUp() {
+        if (otherNode == null) {
+            otherNode = new SpringApplicationBuilder(VacancyApplication.class)
+                    .web(WebApplicationType.NONE)
+                    .properties(
+                            "spring.datasource.url=" + postgres.getJdbcUrl(),
+                            "spring.datasource.username=" + postgres.getUsername(),
+                            "spring.datasource.password=" + postgres.getPassword(),
+                            "spring.flyway.url=" + postgres.getJdbcUrl(),
+                            "spring.flyway.user=" + postgres.getUsername(),
+                            "spring.flyway.password=" + postgres.getPassword())
+                    .run();
+        }
+        otherVacancyService = otherNode.getBean(VacancyService.class);
+        otherIndexService = otherNode.getBean(VacancyIndexService.class);
+        otherUserService = otherNode.getBean(UserService.class);
+        otherOrganizationService = otherNode.getBean(OrganizationService.class);
+        ClusterInvalidationService otherInvalidationService = otherNode.getBean(ClusterInvalidationService.class);
+        assertNotEquals(invalidationService.getNodeId(), otherInvalidationService.getNodeId());
+        await().atMost(Duration.ofSeconds(10))
+                .until(() -> invalidationService.isListening() && otherInvalidationService.isListening());
+
+        responseRepository.deleteAll();
+        vacancyRepository.deleteAll();
+        userRepository.deleteAll();
+        organizationRepository.deleteAll();
+
+        testOrganization = organizationRepository.save(new Organization("TestOrg", "org@example.com"));
+        testUser = userRepository.save(new User("testUser", "test@example.com"));
+        Vacancy vacancy = new Vacancy("Java Developer", "Java Developer position");
+        vacancy.setOrganization(testOrganization);
+        testVacancy = vacancyService.saveVacancy(vacancy);
+    }
+
+    @Test
+    void vacancyUpdate_shouldReachOtherNode() {
+        Long vacancyId = testVacancy.getId();
+        // второй экземпляр кладет вакансию в свой кеш второго уровня
+        assertEquals("Java Developer", otherVacancyService.getVacancyById(vacancyId).getDescription());
+
+        organizationService.updateOrganizationVacancy(testOrganization.getId(), vacancyId,
+                new Vacancy("Kotlin Developer", "Kotlin Developer position"), null);
+
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
+            assertEquals("Kotlin Developer", otherVacancyService.getVacancyById(vacancyId).getDescription());
+            assertEquals(vacancyId, otherIndexService.search("kotlin", VacancyFilter.NONE, 0, 10).get(0).vacancyId());
+        });
+    }
+
+    @Test
+    void vacancyDelete_shouldReachOtherNode() {
+        Long vacancyId = testVacancy.getId();
+        otherVacancyService.getVacancyById(vacancyId);
+
+        organizationService.deleteOrganizationVacancy(testOrganization.getId(), vacancyId);
+
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
+            RequestException exception = assertThrows(RequestException.class,
+                    () -> otherVacancyService.getVacancyById(vacancyId));
+            assertEquals(HttpStatus.NOT_FOUND, exception.code);
+        });
+    }
+
+    @Test
+    void organizationAndUserUpdates_shouldReachOtherNode() {
+        Long organizationId = testOrganization.getId();
+        Long userId = testUser.getId();
+        otherOrganizationService.getOrganizationById(organizationId);
+        otherUserService.getUserById(userId);
+        // второй экземпляр кеширует результат поиска по email
+        assertThrows(RequestException.class, () -> otherUserService.createUser(new User("duplicate", "test@example.com")));
+
+        organizationService.updateOrganization(organizationId, new Organization("RenamedOrg", "org@example.com"), null);
+        userService.updateUser(userId, new User("renamedUser", "renamed@example.com"), null);
+
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
+            assertEquals("RenamedOrg", otherOrganizationService.getOrganizationById(organizationId).getNickname());
+            assertEquals("renamedUser", otherUserService.getUserById(userId).getNickname());
+        });
+        // email освободился, кешированный результат поиска сброшен
+        otherUserService.createUser(new User("newcomer", "test@example.com"));
+    }
+
+    @Test
+    void importedUsers_shouldReachOtherNode() {
+        UserRepository otherUserRepository = otherNode.getBean(UserRepository.class);
+        // второй экземпляр кеширует пустой результат поиска по email
+        assertNull(otherUserRepository.findUserByEmail("imported@example.com"));
+
+        userImportService.importUsersFromJson(new ByteArrayInputStream(
+                "[{\"nickname\":\"imported\",\"email\":\"imported@example.com\"}]".getBytes(StandardCharsets.UTF_8)));
+
+        await().atMost(Duration.ofSeconds(10))
+                .untilAsserted(() -> assertNotNull(otherUserRepository.findUserByEmail("imported@example.com")));
+    }
+}
@@ -1,10 +1,13 @@
 package com.vacancy.service;
 
+import static org.awaitility.Awaitility.await;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.junit.jupiter.api.AfterAll;
@@ -14,20 +17,34 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.server.LocalServerPort;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpStatus;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.testcontainers.containers.PostgreSQLContainer;
 
 import com.vacancy.exceptions.RequestException;
 import com.vacancy.model.entities.Organization;
+import com.vacancy.model.entities.User;
+import com.vacancy.model.entities.UserVacancyResponse;
 import com.vacancy.model.entities.Vacancy;
+import com.vacancy.model.pagination.CursorPage;
+import com.vacancy.model.search.VacancyFilter;
+import com.vacancy.model.search.VacancyResponse;
+import com.vacancy.model.search.VacancySort;
+import com.vacancy.model.search.VacancySummary;
 import com.vacancy.repository.OrganizationRepository;
+import com.vacancy.repository.UserRepository;
+import com.vacancy.repository.UserVacancyResponseRepository;
 import com.vacancy.repository.VacancyRepository;
+import com.vacancy.repository.VacancySpecifications;
 
 import io.restassured.RestAssured;
 
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "vacancy.organizations.purge.threshold=3",
+        "vacancy.organizations.purge.chunk-size=2"
+})
 class OrganizationServiceTest {
 
     @LocalServerPort
@@ -37,9 +54,15 @@ class OrganizationServiceTest {
     @Autowired
     OrganizationService organizationService;
     @Autowired
+    TotalCountService totalCountService;
+    @Autowired
     OrganizationRepository organizationRepository;
     @Autowired
     VacancyRepository vacancyRepository;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    UserVacancyResponseRepository responseRepository;
 
     private Organization testOrganization;
     private Vacancy testVacancy;
@@ -67,7 +90,9 @@ class OrganizationServiceTest {
     @BeforeEach
     void setUp() {
         RestAssured.baseURI = "http://localhost:" + port;
+        responseRepository.deleteAll();
         vacancyRepository.deleteAll();
+        userRepository.deleteAll();
         organizationRepository.deleteAll();
 
         testOrganization = new Organization("TestOrg", "test@example.com");
@@ -83,18 +108,32 @@ class OrganizationServiceTest {
         organizationRepository.save(new Organization("Org1", "org1@example.com"));
         organizationRepository.save(new Organization("Org2", "org2@example.com"));
 
-        Page<Organization> result = organizationService.getAllOrganizations(0, 2);
+        Slice<Organization> result = organizationService.getAllOrganizations(0, 2);
 
         assertEquals(2, result.getContent().size());
-        assertEquals(3, result.getTotalElements());
+        assertTrue(result.hasNext());
+        assertEquals(3, totalCountService.getTotalCount(Organization.class, true));
     }
 
     @Test
     void getAllOrganizations_shouldLimitPageSize() {
-        Page<Organization> result = organizationService.getAllOrganizations(0, 100);
+        Slice<Organization> result = organizationService.getAllOrganizations(0, 100);
         assertEquals(1, result.getContent().size());
     }
 
+    @Test
+    void getOrganizationsAfterTest() {
+        organizationRepository.save(new Organization("Org1", "org1@example.com"));
+        organizationRepository.save(new Organization("Org2", "org2@example.com"));
+
+        CursorPage<Organization> first = organizationService.getOrganizationsAfter("", 2);
+        CursorPage<Organization> second = organizationService.getOrganizationsAfter(first.nextCursor(), 2);
+
+        assertEquals(2, first.content().size());
+        assertEquals(1, second.content().size());
+        assertFalse(second.hasNext());
+    }
+
     @Test
     void getOrganizationByIdTest() {
         Organization result = organizationService.getOrganizationById(testOrganization.getId());
@@ -133,17 +172,32 @@ class OrganizationServiceTest {
     void updateOrganizationTest() {
         Organization org = new Organization("UpdatedOrg", "updated@example.com");
 
-        Organization result = organizationService.updateOrganization(testOrganization.getId(), org);
+        Organization result = organizationService.updateOrganization(testOrganization.getId(), org, null);
 
         assertEquals("updated@example.com", result.getEmail());
     }
 
+    @Test
+    void updateOrganization_shouldCheckExpectedVersion() {
+        Long id = testOrganization.getId();
+        long version = organizationService.getOrganizationById(id).getVersion();
+
+        Organization result = organizationService.updateOrganization(id, new Organization("First", "first@example.com"), version);
+        assertEquals(version + 1, result.getVersion());
+
+        RequestException exception = assertThrows(RequestException.class, () -> {
+            organizationService.updateOrganization(id, new Organization("Second", "second@example.com"), version);
+        });
+        assertEquals(HttpStatus.PRECONDITION_FAILED, exception.code);
+        assertEquals("First", organizationService.getOrganizationById(id).getNickname());
+    }
+
     @Test
     void updateOrganization_shouldThrowException_whenNotFound() {
         Organization org = new Organization("UpdatedOrg", "updated@example.com");
 
         assertThrows(RequestException.class, () -> {
-            organizationService.updateOrganization(999L, org);
+            organizationService.updateOrganization(999L, org, null);
         });
     }
 
@@ -156,7 +210,7 @@ class OrganizationServiceTest {
         Long id = testOrganization.getId();
 
         assertThrows(RequestException.class, () -> {
-            organizationService.updateOrganization(id, org);
+            organizationService.updateOrganization(id, org, null);
         });
     }
 
@@ -169,12 +223,26 @@ class OrganizationServiceTest {
         assertFalse(organizationRepository.existsById(orgId));
     }
 
+    @Test
+    void deleteOrganization_shouldPurgeLargeOrganizationInBackground() {
+        Long orgId = testOrganization.getId();
+        for (int i = 0; i < 4; i++) {
+            organizationService.publishVacancy(orgId, new Vacancy("Position " + i, "Position " + i));
+        }
+
+        assertFalse(organizationService.deleteOrganization(orgId));
+
+        await().atMost(Duration.ofSeconds(10)).until(() -> !organizationRepository.existsById(orgId));
+        assertEquals(0, vacancyRepository.countByOrganizationIdUpTo(orgId, 100));
+    }
+
     @Test
     void getOrganizationVacanciesTest() {
-        List<Vacancy> result = organizationService.getOrganizationVacancies(testOrganization.getId());
+        List<VacancySummary> result = organizationService.getOrganizationVacancies(testOrganization.getId(), null, 50).content();
 
         assertEquals(1, result.size());
-        assertEquals(testVacancy.getId(), result.get(0).getId());
+        assertEquals(testVacancy.getId(), result.get(0).id());
+        assertEquals(testOrganization.getId(), result.get(0).organizationId());
     }
 
     @Test
@@ -188,24 +256,86 @@ class OrganizationServiceTest {
         assertEquals(testOrganization.getId(), result.getOrganization().getId());
     }
 
+    @Test
+    void publishVacanciesTest() {
+        List<Vacancy> vacancies = new ArrayList<>();
+        for (int i = 0; i < 1200; i++) {
+            vacancies.add(new Vacancy("Position " + i, "Position " + i + " description"));
+        }
+
+        List<Vacancy> result = organizationService.publishVacancies(testOrganization.getId(), vacancies);
+
+        assertEquals(1200, result.size());
+        assertEquals(1200, result.stream().map(Vacancy::getId).distinct().count());
+        assertTrue(result.stream().allMatch(vacancy -> vacancy.getId() > 0));
+        assertEquals(1201, vacancyRepository.findSummaries(
+                VacancySpecifications.matching(new VacancyFilter(null, null, null, testOrganization.getId(), VacancySort.ID)),
+                VacancySort.ID.toSort(), 0, Integer.MAX_VALUE).size());
+    }
+
+    @Test
+    void getOrganizationVacancies_shouldPageByCursor() {
+        Organization anotherOrg = organizationRepository.save(new Organization("AnotherOrg", "another@example.com"));
+        for (int i = 0; i < 4; i++) {
+            organizationService.publishVacancy(testOrganization.getId(), new Vacancy("Position " + i, "Position " + i));
+            organizationService.publishVacancy(anotherOrg.getId(), new Vacancy("Other " + i, "Other " + i));
+        }
+
+        CursorPage<VacancySummary> first = organizationService.getOrganizationVacancies(testOrganization.getId(), "", 3);
+        assertEquals(3, first.content().size());
+        assertTrue(first.hasNext());
+
+        CursorPage<VacancySummary> second = organizationService.getOrganizationVacancies(testOrganization.getId(), first.nextCursor(), 3);
+        assertEquals(2, second.content().size());
+        assertFalse(second.hasNext());
+        assertTrue(second.content().stream().allMatch(vacancy -> vacancy.organizationId().equals(testOrganization.getId())));
+    }
+
+    @Test
+    void getOrganizationVacancies_shouldThrowException_whenOrganizationNotFound() {
+        assertThrows(RequestException.class, () -> {
+            organizationService.getOrganizationVacancies(999L, null, 10);
+        });
+    }
+
+    @Test
+    void publishVacancies_shouldThrowException_whenOrganizationNotFound() {
+        List<Vacancy> vacancies = List.of(new Vacancy("Position", "Position description"));
+        assertThrows(RequestException.class, () -> {
+            organizationService.publishVacancies(999L, vacancies);
+        });
+    }
+
     @Test
     void updateOrganizationVacancyTest() {
         Vacancy vacancy = new Vacancy("Updated Position", "Updated description");
 
         Vacancy result = organizationService.updateOrganizationVacancy(
-            testOrganization.getId(), testVacancy.getId(), vacancy);
+            testOrganization.getId(), testVacancy.getId(), vacancy, null);
 
         assertEquals("Updated Position", result.getDescription());
         assertEquals("Updated description", result.getLongDescription());
     }
 
+    @Test
+    void updateOrganizationVacancy_shouldCheckExpectedVersion() {
+        Long orgId = testOrganization.getId();
+        Long vacancyId = testVacancy.getId();
+        long stale = testVacancy.getVersion() - 1;
+
+        RequestException exception = assertThrows(RequestException.class, () -> {
+            organizationService.updateOrganizationVacancy(orgId, vacancyId, new Vacancy("Stale", "Stale"), stale);
+        });
+        assertEquals(HttpStatus.PRECONDITION_FAILED, exception.code);
+    }
+
     @Test
     void updateOrganizationVacancy_shouldThrowException_whenVacancyNotFound() {
         Vacancy vacancy = new Vacancy("Updated Position", "Updated description");
         Long id = testOrganization.getId();
 
         assertThrows(RequestException.class, () -> {
-            organizationService.updateOrganizationVacancy(id, 999L, vacancy);
+            organizationService.updateOrganizationVacancy(id, 999L, vacancy, null);
         });
     }
 
@@ -219,7 +349,7 @@ class OrganizationServiceTest {
         Long vacancyId = savedAnotherOrg.getId();
 
         assertThrows(RequestException.class, () -> {
-            organizationService.updateOrganizationVacancy(orgId, vacancyId, vacancy);
+            organizationService.updateOrganizationVacancy(orgId, vacancyId, vacancy, null);
         });
     }
 
@@ -252,4 +382,49 @@ class OrganizationServiceTest {
             organizationService.deleteOrganizationVacancy(orgId, vacancyId);
         });
     }
-}
\ No newline at end of file
+
+    @Test
+    void getVacancyResponses_shouldPageByResponseDate() {
+        for (int i = 0; i < 3; i++) {
+            User user = userRepository.save(new User("user" + i, "user" + i + "@example.com"));
+            responseRepository.save(new UserVacancyResponse(user, testVacancy));
+        }
+        Long orgId = testOrganization.getId();
+
+        CursorPage<VacancyResponse> first = organizationService.getVacancyResponses(orgId, testVacancy.getId(), null, 2);
+        assertEquals(2, first.content().size());
+        assertTrue(first.hasNext());
+
+        CursorPage<VacancyResponse> second = organizationService.getVacancyResponses(orgId, testVacancy.getId(), first.nextCursor(), 2);
+        assertEquals(1, second.content().size());
+        assertFalse(second.hasNext());
+        assertEquals(userRepository.findUserByEmail("user2@example.com").getId(), second.content().get(0).getUserId());
+    }
+
+    @Test
+    void getVacancyResponses_shouldReturnEmpty_whenNoResponses() {
+        CursorPage<VacancyResponse> result = organizationService.getVacancyResponses(testOrganization.getId(), testVacancy.getId(), null, 10);
+
+        assertTrue(result.content().isEmpty());
+    }
+
+    @Test
+    void getVacancyResponses_shouldThrowException_whenVacancyNotBelongsToOrg() {
+        Organization anotherOrg = organizationRepository.save(new Organization("AnotherOrg", "another@example.com"));
+        User user = userRepository.save(new User("user", "user@example.com"));
+        responseRepository.save(new UserVacancyResponse(user, testVacancy));
+
+        RequestException exception = assertThrows(RequestException.class, () -> {
+            organizationService.getVacancyResponses(anotherOrg.getId(), testVacancy.getId(), null, 10);
+        });
+        assertEquals(HttpStatus.FORBIDDEN, exception.code);
+    }
+
+    @Test
+    void getVacancyResponses_shouldThrowException_whenOrganizationNotFound() {
+        RequestException exception = assertThrows(RequestException.class, () -> {
+            organizationService.getVacancyResponses(999L, testVacancy.getId(), null, 10);
+        });
+        assertEquals(HttpStatus.NOT_FOUND, exception.code);
+    }
+}
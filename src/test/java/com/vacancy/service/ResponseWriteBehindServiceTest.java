@@ -0,0 +1,212 @@
+package com.vacancy.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import com.vacancy.exceptions.RequestException;
+import com.vacancy.model.entities.Organization;
+import com.vacancy.model.entities.User;
+import com.vacancy.model.entities.UserVacancyResponse;
+import com.vacancy.model.entities.Vacancy;
+import com.vacancy.repository.OrganizationRepository;
+import com.vacancy.repository.UserRepository;
+import com.vacancy.repository.UserVacancyResponseRepository;
+import com.vacancy.repository.VacancyRepository;
+
+@SpringBootTest(properties = {
+        "vacancy.responses.write-behind.enabled=true",
+        "vacancy.responses.write-behind.capacity=3",
+        "vacancy.responses.write-behind.batch-size=2",
+        "vacancy.responses.write-behind.flush-interval=1h"
+})
+class ResponseWriteBehindServiceTest {
+
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17");
+    static Path walFile;
+
+    @Autowired
+    ResponseWriteBehindService writeBehindService;
+    @Autowired
+    VacancyService vacancyService;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    VacancyRepository vacancyRepository;
+    @Autowired
+    OrganizationRepository organizationRepository;
+    @Autowired
+    UserVacancyResponseRepository responseRepository;
+    @Autowired
+    VacancyCounterService counterService;
+
+    private User testUser;
+    private Organization testOrganization;
+
+    @BeforeAll
+    static void beforeAll() throws IOException {
+        postgres.start();
+        walFile = Files.createTempFile("responses", ".wal");
+    }
+
+    @AfterAll
+    static void afterAll() throws IOException {
+        postgres.stop();
+        Files.deleteIfExists(walFile);
+    }
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.flyway.url", postgres::getJdbcUrl);
+        registry.add("spring.flyway.user", postgres::getUsername);
+        registry.add("spring.flyway.password", postgres::getPassword);
+        registry.add("vacancy.responses.write-behind.wal-file", () -> walFile.toString());
+    }
+
+    @BeforeEach
+    void setUp() {
+        writeBehindService.flush();
+        responseRepository.deleteAll();
+        vacancyRepository.deleteAll();
+        userRepository.deleteAll();
+        organizationRepository.deleteAll();
+
+        testOrganization = organizationRepository.save(new Organization("TestOrg", "org@example.com"));
+        testUser = userRepository.save(new User("testUser", "test@example.com"));
+    }
+
+    private Vacancy saveVacancy(String description) {
+        Vacancy vacancy = new Vacancy(description, description);
+        vacancy.setOrganization(testOrganization);
+        return vacancyRepository.save(vacancy);
+    }
+
+    @Test
+    void respondToVacancy_shouldCoalesceAndFlushInBatches() throws IOException {
+        Vacancy first = saveVacancy("First");
+        Vacancy second = saveVacancy("Second");
+        Vacancy third = saveVacancy("Third");
+
+        vacancyService.respondToVacancy(first.getId(), testUser.getId());
+        vacancyService.respondToVacancy(first.getId(), testUser.getId());
+        vacancyService.respondToVacancy(second.getId(), testUser.getId());
+        vacancyService.respondToVacancy(third.getId(), testUser.getId());
+
+        assertEquals(3, writeBehindService.pendingCount());
+        assertEquals(0, responseRepository.count());
+        assertTrue(Files.size(walFile) > 0);
+
+        assertEquals(3, writeBehindService.flush());
+
+        List<UserVacancyResponse> responses = responseRepository.findByUserId(testUser.getId());
+        assertEquals(3, responses.size());
+        assertEquals(0, writeBehindService.pendingCount());
+        assertEquals(0, Files.size(walFile));
+    }
+
+    @Test
+    void respondToVacancy_shouldReject_whenQueueIsFull() {
+        Vacancy[] vacancies = {saveVacancy("A"), saveVacancy("B"), saveVacancy("C"), saveVacancy("D")};
+        for (int i = 0; i < 3; i++) {
+            vacancyService.respondToVacancy(vacancies[i].getId(), testUser.getId());
+        }
+
+        RequestException exception = assertThrows(RequestException.class, () -> {
+            vacancyService.respondToVacancy(vacancies[3].getId(), testUser.getId());
+        });
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, exception.code);
+
+        // повтор уже стоящего в очереди отклика места не занимает
+        vacancyService.respondToVacancy(vacancies[0].getId(), testUser.getId());
+        assertEquals(3, writeBehindService.flush());
+    }
+
+    @Test
+    void enqueue_shouldNotExceedCapacity_underConcurrentCalls() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        try {
+            for (long vacancyId = 1; vacancyId <= 64; vacancyId++) {
+                long id = vacancyId;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        writeBehindService.enqueue(testUser.getId(), id);
+                        return true;
+                    } catch (RequestException e) {
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+            int accepted = 0;
+            for (Future<Boolean> result : results) {
+                accepted += result.get() ? 1 : 0;
+            }
+
+            assertEquals(3, accepted);
+            assertEquals(3, writeBehindService.pendingCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void respondToVacancy_shouldAnswerNotFound_forUnknownVacancy() {
+        RequestException exception = assertThrows(RequestException.class, () -> {
+            vacancyService.respondToVacancy(Long.MAX_VALUE, testUser.getId());
+        });
+
+        assertEquals(HttpStatus.NOT_FOUND, exception.code);
+        assertEquals(0, writeBehindService.pendingCount());
+    }
+
+    @Test
+    void removeResponse_shouldCancelQueuedResponse() throws IOException {
+        Vacancy vacancy = saveVacancy("Withdrawn");
+        vacancyService.respondToVacancy(vacancy.getId(), testUser.getId());
+        vacancyService.removeResponseFromVacancy(vacancy.getId(), testUser.getId());
+
+        assertEquals(0, writeBehindService.pendingCount());
+        assertTrue(Files.readString(walFile).endsWith(testUser.getId() + "," + vacancy.getId() + ",-\n"));
+        assertEquals(0, writeBehindService.flush());
+        assertEquals(0, responseRepository.count());
+        assertEquals(0, counterService.getVacancyCounts(vacancy.getId()).responses());
+    }
+
+    @Test
+    void flush_shouldDropResponsesToDeletedVacancies() {
+        Vacancy vacancy = saveVacancy("Removed");
+        vacancyService.respondToVacancy(vacancy.getId(), testUser.getId());
+        vacancyRepository.deleteById(vacancy.getId());
+
+        writeBehindService.flush();
+
+        assertEquals(0, responseRepository.count());
+    }
+}
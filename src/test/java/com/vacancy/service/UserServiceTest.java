@@ -1,11 +1,20 @@
 package com.vacancy.service;
 
+import static io.restassured.RestAssured.given;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
@@ -14,22 +23,30 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.server.LocalServerPort;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.testcontainers.containers.PostgreSQLContainer;
 
 import com.vacancy.exceptions.RequestException;
+import com.vacancy.model.dto.out.UserImportReportDtoOut;
+import com.vacancy.model.dto.out.UserImportRowDtoOut;
+import com.vacancy.model.dto.out.UserImportRowDtoOut.Status;
 import com.vacancy.model.entities.Organization;
 import com.vacancy.model.entities.User;
 import com.vacancy.model.entities.UserVacancyResponse;
 import com.vacancy.model.entities.Vacancy;
+import com.vacancy.model.pagination.CursorPage;
+import com.vacancy.model.search.FavoriteVacancy;
 import com.vacancy.repository.OrganizationRepository;
 import com.vacancy.repository.UserRepository;
 import com.vacancy.repository.UserVacancyResponseRepository;
 import com.vacancy.repository.VacancyRepository;
 
 import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 class UserServiceTest {
@@ -41,6 +58,12 @@ class UserServiceTest {
     @Autowired
     UserService userService;
     @Autowired
+    VacancyService vacancyService;
+    @Autowired
+    UserImportService userImportService;
+    @Autowired
+    TotalCountService totalCountService;
+    @Autowired
     UserRepository userRepository;
     @Autowired
     VacancyRepository vacancyRepository;
@@ -48,6 +71,8 @@ class UserServiceTest {
     OrganizationRepository organizationRepository;
     @Autowired
     UserVacancyResponseRepository responseRepository;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
 
     private User testUser;
     private Vacancy testVacancy;
@@ -93,23 +118,170 @@ class UserServiceTest {
         testVacancy = vacancyRepository.save(testVacancy);
     }
 
+    @Test
+    void importUsersFromCsvTest() {
+        String csv = """
+                email,nickname,cv_link
+                new1@example.com,new1,"http://cv.example.com/a,b"
+                test@example.com,existing,
+                new1@example.com,again,
+                not-an-email,broken,
+                "new2@example.com",new2
+                new3@example.com,"new ""3""\",
+                """;
+
+        UserImportReportDtoOut report = userImportService.importUsersFromCsv(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(6, report.getTotal());
+        assertEquals(2, report.getCreated());
+        assertEquals(2, report.getDuplicates());
+        assertEquals(2, report.getInvalid());
+        List<UserImportRowDtoOut.Status> statuses = report.getRows().stream().map(UserImportRowDtoOut::getStatus).toList();
+        assertEquals(List.of(Status.CREATED, Status.DUPLICATE, Status.DUPLICATE, Status.INVALID, Status.INVALID, Status.CREATED), statuses);
+        assertEquals("http://cv.example.com/a,b", userRepository.findUserByEmail("new1@example.com").getCvLink());
+        assertEquals("new \"3\"", userRepository.findUserByEmail("new3@example.com").getNickname());
+        assertEquals(report.getRows().get(0).getId(), userRepository.findUserByEmail("new1@example.com").getId());
+    }
+
+    @Test
+    void importUsersFromJsonTest() {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 2500; i++) {
+            json.append(i == 0 ? "" : ",")
+                    .append("{\"nickname\":\"user").append(i).append("\",\"email\":\"user").append(i).append("@example.com\"}");
+        }
+        json.append(",{\"nickname\":\"\",\"email\":\"blank@example.com\"}]");
+
+        UserImportReportDtoOut report = userImportService.importUsersFromJson(
+                new ByteArrayInputStream(json.toString().getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(2501, report.getTotal());
+        assertEquals(2500, report.getCreated());
+        assertEquals(Status.INVALID, report.getRows().get(2500).getStatus());
+        assertEquals(2501, userRepository.count());
+    }
+
+    @Test
+    void importUsersFromJson_shouldReportFieldTypeErrorsAsInvalid() {
+        String json = """
+                [{"nickname": "first", "email": "first@example.com"},
+                 {"nickname": "typed", "email": {"address": "typed@example.com"}},
+                 {"nickname": "last", "email": "last@example.com"}]
+                """;
+
+        UserImportReportDtoOut report = userImportService.importUsersFromJson(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+
+        assertNull(report.getError());
+        assertEquals(2, report.getCreated());
+        assertEquals(1, report.getInvalid());
+        assertEquals(Status.INVALID, report.getRows().get(1).getStatus());
+    }
+
+    @Test
+    void importUsersFromJson_shouldReturnPartialReportOnSyntaxError() {
+        String json = "[{\"nickname\": \"first\", \"email\": \"first@example.com\"}, {\"nickname\": \"broken\", \"email\": ]";
+
+        UserImportReportDtoOut report = userImportService.importUsersFromJson(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+
+        assertNotNull(report.getError());
+        assertEquals(1, report.getTotal());
+        assertEquals(1, report.getCreated());
+        assertNotNull(userRepository.findUserByEmail("first@example.com"));
+    }
+
+    @Test
+    void importUsersFromCsv_shouldReturnPartialReportOnReadError() {
+        byte[] csv = "email,nickname\nfirst@example.com,first\nsecond@example.com,second\n".getBytes(StandardCharsets.UTF_8);
+        InputStream broken = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Connection reset");
+            }
+        };
+
+        UserImportReportDtoOut report = userImportService.importUsersFromCsv(
+                new SequenceInputStream(new ByteArrayInputStream(csv), broken));
+
+        assertNotNull(report.getError());
+        assertTrue(report.getError().contains("CSV"), report.getError());
+        assertEquals(2, report.getCreated());
+    }
+
+    @Test
+    void importUsers_shouldRetryChunkRowByRow_whenInsertViolatesConstraint() {
+        // ограничение, которого не видит проверка занятых email: вставка пачки откатывается целиком
+        jdbcTemplate.execute("ALTER TABLE users ADD CONSTRAINT users_blocked_email CHECK (email <> 'blocked@example.com')");
+        try {
+            String csv = """
+                    email,nickname
+                    first@example.com,first
+                    blocked@example.com,blocked
+                    last@example.com,last
+                    """;
+
+            UserImportReportDtoOut report = userImportService.importUsersFromCsv(
+                    new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+            List<UserImportRowDtoOut.Status> statuses = report.getRows().stream().map(UserImportRowDtoOut::getStatus).toList();
+            assertEquals(List.of(Status.CREATED, Status.FAILED, Status.CREATED), statuses);
+            assertNotNull(userRepository.findUserByEmail("first@example.com"));
+            assertNotNull(userRepository.findUserByEmail("last@example.com"));
+        } finally {
+            jdbcTemplate.execute("ALTER TABLE users DROP CONSTRAINT users_blocked_email");
+        }
+    }
+
+    @Test
+    void importUsersFromJson_shouldRejectNonArrayBody() {
+        assertThrows(RequestException.class, () -> {
+            userImportService.importUsersFromJson(new ByteArrayInputStream("{}".getBytes(StandardCharsets.UTF_8)));
+        });
+    }
+
     @Test
     void getAllUsersTest() {
         userRepository.save(new User("user1", "user1@example.com"));
         userRepository.save(new User("user2", "user2@example.com"));
 
-        Page<User> result = userService.getAllUsers(0, 2);
+        Slice<User> result = userService.getAllUsers(0, 2);
 
         assertEquals(2, result.getContent().size());
-        assertEquals(3, result.getTotalElements());
+        assertTrue(result.hasNext());
+        assertEquals(3, totalCountService.getTotalCount(User.class, true));
+    }
+
+    @Test
+    void getTotalCount_shouldCountExactly_whenTableWasNeverAnalyzed() {
+        userRepository.save(new User("user1", "user1@example.com"));
+        userRepository.save(new User("user2", "user2@example.com"));
+        // как на только что созданной базе: n_live_tup = 0, ANALYZE еще не было
+        jdbcTemplate.execute("SELECT pg_stat_reset_single_table_counters('users'::regclass)");
+
+        assertEquals(3, totalCountService.getTotalCount(User.class, false));
     }
 
     @Test
     void getAllUsers_shouldLimitPageSize() {
-        Page<User> result = userService.getAllUsers(0, 100);
+        Slice<User> result = userService.getAllUsers(0, 100);
         assertEquals(1, result.getContent().size());
     }
 
+    @Test
+    void getUsersAfterTest() {
+        userRepository.save(new User("user1", "user1@example.com"));
+        userRepository.save(new User("user2", "user2@example.com"));
+
+        CursorPage<User> first = userService.getUsersAfter("", 2);
+        CursorPage<User> second = userService.getUsersAfter(first.nextCursor(), 2);
+
+        assertEquals(2, first.content().size());
+        assertEquals(1, second.content().size());
+        assertFalse(second.hasNext());
+    }
+
     @Test
     void getUserByIdTest() {
         User result = userService.getUserById(testUser.getId());
@@ -152,19 +324,70 @@ class UserServiceTest {
         User user = new User("updatedUser", "updated@example.com");
         user.setCvLink("http://updated.example.com");
 
-        User result = userService.updateUser(testUser.getId(), user);
+        User result = userService.updateUser(testUser.getId(), user, null);
 
         assertEquals("updatedUser", result.getNickname());
         assertEquals("updated@example.com", result.getEmail());
         assertEquals("http://updated.example.com", result.getCvLink());
     }
 
+    @Test
+    void updateUser_shouldCheckExpectedVersion() {
+        Long id = testUser.getId();
+        long version = testUser.getVersion();
+        User user = new User("updatedUser", "updated@example.com");
+
+        assertEquals(version + 1, userService.updateUser(id, user, version).getVersion());
+
+        RequestException exception = assertThrows(RequestException.class, () -> {
+            userService.updateUser(id, user, version);
+        });
+        assertEquals(HttpStatus.PRECONDITION_FAILED, exception.code);
+    }
+
+    @Test
+    void updateUser_shouldAnswerPreconditionFailed_forStaleIfMatch() {
+        Long id = testUser.getId();
+        String eTag = "\"" + testUser.getVersion() + "\"";
+        Map<String, String> body = Map.of("nickname", "updatedUser", "email", "updated@example.com");
+
+        String newTag = given().contentType(ContentType.JSON).header("If-Match", eTag).body(body)
+                .put("/api/users/{id}", id)
+                .then().statusCode(200)
+                .extract().header("ETag");
+        assertEquals("\"" + (testUser.getVersion() + 1) + "\"", newTag);
+
+        given().contentType(ContentType.JSON).header("If-Match", eTag).body(body)
+                .put("/api/users/{id}", id)
+                .then().statusCode(412);
+    }
+
+    @Test
+    void updateUser_shouldAnswerConflict_whenRowChangesBeforeUpdate() {
+        Long id = testUser.getId();
+        // триггер гасит UPDATE, как если бы строку между чтением и записью изменил другой запрос:
+        // UPDATE ... WHERE version = ? не находит строку, и проверка @Version проваливается
+        jdbcTemplate.execute("CREATE FUNCTION skip_user_update() RETURNS trigger AS 'BEGIN RETURN NULL; END' LANGUAGE plpgsql");
+        jdbcTemplate.execute("CREATE TRIGGER users_skip_update BEFORE UPDATE ON users FOR EACH ROW EXECUTE FUNCTION skip_user_update()");
+        try {
+            given().contentType(ContentType.JSON)
+                    .header("If-Match", "\"" + testUser.getVersion() + "\"")
+                    .body(Map.of("nickname", "updatedUser", "email", "updated@example.com"))
+                    .put("/api/users/{id}", id)
+                    .then().statusCode(409);
+        } finally {
+            jdbcTemplate.execute("DROP TRIGGER users_skip_update ON users");
+            jdbcTemplate.execute("DROP FUNCTION skip_user_update()");
+        }
+        assertEquals("testUser", userService.getUserById(id).getNickname());
+    }
+
     @Test
     void updateUser_shouldThrowException_whenNotFound() {
         User user = new User("updatedUser", "updated@example.com");
 
         assertThrows(RequestException.class, () -> {
-            userService.updateUser(999L, user);
+            userService.updateUser(999L, user, null);
         });
     }
 
@@ -177,22 +400,60 @@ class UserServiceTest {
         assertFalse(userRepository.existsById(userId));
     }
 
+    @Test
+    void deleteUser_shouldRemoveResponsesAndFavorites() {
+        Long userId = testUser.getId();
+        vacancyService.respondToVacancy(testVacancy.getId(), userId);
+        vacancyService.addToFavorites(testVacancy.getId(), userId);
+
+        userService.deleteUser(userId);
+
+        assertEquals(0, responseRepository.count());
+        assertTrue(vacancyRepository.findFavoriteVacancyIds(userId).isEmpty());
+        assertTrue(vacancyRepository.existsById(testVacancy.getId()));
+    }
+
     @Test
     void getUserFavoritesTest() {
         testUser.getFavoriteList().add(testVacancy);
         userRepository.save(testUser);
 
-        List<Vacancy> result = userService.getUserFavorites(testUser.getId());
+        List<FavoriteVacancy> result = userService.getUserFavorites(testUser.getId(), null, 50).content();
 
         assertEquals(1, result.size());
         assertEquals(testVacancy.getId(), result.get(0).getId());
+        assertNotNull(result.get(0).getAddedAt());
+    }
+
+    @Test
+    void getUserFavorites_shouldPageByCursor() {
+        for (int i = 0; i < 4; i++) {
+            Vacancy vacancy = vacancyRepository.save(new Vacancy("V_" + i, "V_" + i));
+            vacancyService.addToFavorites(vacancy.getId(), testUser.getId());
+        }
+
+        CursorPage<FavoriteVacancy> first = userService.getUserFavorites(testUser.getId(), "", 3);
+        assertEquals(3, first.content().size());
+        assertTrue(first.hasNext());
+
+        CursorPage<FavoriteVacancy> second = userService.getUserFavorites(testUser.getId(), first.nextCursor(), 3);
+        assertEquals(1, second.content().size());
+        assertEquals("V_3", second.content().get(0).getDescription());
+        assertFalse(second.hasNext());
+    }
+
+    @Test
+    void getUserFavorites_shouldThrowException_whenUserNotFound() {
+        assertThrows(RequestException.class, () -> {
+            userService.getUserFavorites(999L, null, 10);
+        });
     }
 
     @Test
     void getUserFavorites_shouldReturnEmpty_whenNoFavorites() {
-        List<Vacancy> result = userService.getUserFavorites(testUser.getId());
+        CursorPage<FavoriteVacancy> result = userService.getUserFavorites(testUser.getId(), null, 10);
         
-        assertTrue(result.isEmpty());
+        assertTrue(result.content().isEmpty());
     }
 
     @Test
@@ -21,6 +21,7 @@ import org.springframework.test.context.DynamicPropertySource;
 import org.testcontainers.containers.PostgreSQLContainer;
 
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -166,6 +167,25 @@ class UserVacancyResponseServiceTest {
         assertEquals(testVacancy1.getId(), result.get(0).getVacancy().getId());
     }
 
+    @Test
+    void addOrReplaceResponseTest() {
+        assertEquals(Optional.of(true), responseService.addOrReplaceResponse(testUser1.getId(), testVacancy1.getId()));
+        UserVacancyResponse first = responseRepository.findByUserIdAndVacancyId(testUser1.getId(), testVacancy1.getId()).orElseThrow();
+
+        assertEquals(Optional.of(false), responseService.addOrReplaceResponse(testUser1.getId(), testVacancy1.getId()));
+        UserVacancyResponse second = responseRepository.findByUserIdAndVacancyId(testUser1.getId(), testVacancy1.getId()).orElseThrow();
+
+        assertEquals(1, responseRepository.count());
+        assertEquals(first.getId(), second.getId());
+        assertTrue(second.getResponseDate().isAfter(first.getResponseDate()));
+    }
+
+    @Test
+    void addOrReplaceResponse_shouldReturnEmpty_whenVacancyNotFound() {
+        assertTrue(responseService.addOrReplaceResponse(testUser1.getId(), 999L).isEmpty());
+        assertEquals(0, responseRepository.count());
+    }
+
     @Test
     void responseDtoShouldContainResponseDate() {
         UserVacancyResponse response = new UserVacancyResponse(testUser1, testVacancy1);
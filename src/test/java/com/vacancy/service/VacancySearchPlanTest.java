@@ -0,0 +1,154 @@
+package com.vacancy.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import com.vacancy.model.search.VacancyFilter;
+import com.vacancy.model.search.VacancySort;
+
+/**
+ * Проверяет, что на миллионе вакансий запросы фильтрации идут по индексам из V2__vacancy_search_indexes.sql
+ * и V10__vacancy_salary_nulls_last.sql. Под EXPLAIN идет SQL, который Hibernate строит в VacancyService.getAllVacancies:
+ * он перехватывается StatementInspector, значения фильтра Hibernate встраивает в текст запроса (value_handling_mode=inline).
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.criteria.value_handling_mode=inline")
+class VacancySearchPlanTest {
+
+    private static final int VACANCY_COUNT = 1_000_000;
+    private static final int PAGE_SIZE = 50;
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17");
+    private static boolean seeded = false;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    VacancyService vacancyService;
+
+    private long firstOrganizationId;
+
+    @TestConfiguration
+    static class StatementCapture {
+        @Bean
+        HibernatePropertiesCustomizer statementInspector() {
+            StatementInspector inspector = sql -> {
+                STATEMENTS.add(sql);
+                return sql;
+            };
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+        }
+    }
+
+    @BeforeAll
+    static void beforeAll() {
+        postgres.start();
+    }
+
+    @AfterAll
+    static void afterAll() {
+        postgres.stop();
+    }
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.flyway.url", postgres::getJdbcUrl);
+        registry.add("spring.flyway.user", postgres::getUsername);
+        registry.add("spring.flyway.password", postgres::getPassword);
+    }
+
+    @BeforeEach
+    void setUp() {
+        if (!seeded) {
+            jdbcTemplate.execute("""
+                    INSERT INTO organization (nickname, email)
+                    SELECT 'org_' || g, 'org_' || g || '@example.com' FROM generate_series(1, 1000) g
+                    """);
+            // каждая десятая вакансия без города и зарплаты
+            jdbcTemplate.update("""
+                    INSERT INTO vacancy (description, long_description, min_salary, max_salary, city, organization_id)
+                    SELECT 'Vacancy ' || g,
+                           'Long description ' || g,
+                           CASE WHEN g % 10 = 0 THEN NULL ELSE (g * 7919 % 300) * 1000 END,
+                           CASE WHEN g % 10 = 0 THEN NULL ELSE (g * 7919 % 300) * 1000 + (g % 50) * 1000 END,
+                           CASE WHEN g % 10 = 0 THEN NULL ELSE 'city_' || (g % 500) END,
+                           o.min_id + g % 1000
+                    FROM generate_series(1, ?) g, (SELECT min(id) AS min_id FROM organization) o
+                    """, VACANCY_COUNT);
+            jdbcTemplate.execute("ANALYZE organization");
+            jdbcTemplate.execute("ANALYZE vacancy");
+            seeded = true;
+        }
+        firstOrganizationId = jdbcTemplate.queryForObject("SELECT min(id) FROM organization", Long.class);
+    }
+
+    @Test
+    void cityAndSalaryFilter_shouldUseCitySalaryIndex() {
+        String plan = explain(new VacancyFilter("city_42", 250000, 260000, null, VacancySort.SALARY_DESC));
+
+        assertTrue(plan.contains("vacancy_city_salary_idx"), plan);
+        assertFalse(plan.contains("Seq Scan on vacancy"), plan);
+    }
+
+    @Test
+    void salaryFilter_shouldUseSalaryIndex() {
+        String plan = explain(new VacancyFilter(null, 330000, null, null, VacancySort.SALARY_DESC));
+
+        assertTrue(plan.contains("vacancy_salary_idx"), plan);
+        assertFalse(plan.contains("Seq Scan on vacancy"), plan);
+    }
+
+    @Test
+    void salarySortWithoutFilter_shouldUseSalaryIndex() {
+        String plan = explain(new VacancyFilter(null, null, null, null, VacancySort.SALARY_DESC));
+
+        assertTrue(plan.contains("vacancy_salary_idx"), plan);
+        assertFalse(plan.contains("Sort"), plan);
+    }
+
+    @Test
+    void organizationFilter_shouldUseOrganizationIndex() {
+        String plan = explain(new VacancyFilter(null, null, null, firstOrganizationId + 17, null));
+
+        assertTrue(plan.contains("vacancy_organization_id_idx"), plan);
+        assertFalse(plan.contains("Seq Scan on vacancy"), plan);
+    }
+
+    // EXPLAIN запроса, который Hibernate построил для первой страницы по этому фильтру
+    private String explain(VacancyFilter filter) {
+        STATEMENTS.clear();
+        vacancyService.getAllVacancies(filter, 0, PAGE_SIZE);
+        String sql = STATEMENTS.stream()
+                .filter(statement -> statement.contains(" from vacancy "))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No vacancy query captured: " + STATEMENTS));
+        // значения фильтра встроены в SQL, параметрами остаются только OFFSET и FETCH FIRST
+        sql = sql.replaceAll("(?i)offset \\?", "offset 0")
+                .replaceAll("(?i)(fetch first|limit) \\?", "$1 " + (PAGE_SIZE + 1));
+        assertFalse(sql.contains("?"), sql);
+        List<String> lines = jdbcTemplate.queryForList("EXPLAIN " + sql, String.class);
+        return String.join("\n", lines);
+    }
+}
@@ -2,15 +2,35 @@ package com.vacancy.service;
 
 
 import com.vacancy.exceptions.RequestException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vacancy.model.dto.WireFormat;
+import com.vacancy.model.dto.out.CacheRegionStatsDtoOut;
+import com.vacancy.model.dto.out.VacancySummaryDtoOut;
 import com.vacancy.model.entities.Organization;
 import com.vacancy.model.entities.User;
 import com.vacancy.model.entities.UserVacancyResponse;
 import com.vacancy.model.entities.Vacancy;
+import com.vacancy.model.export.VacancyExportFormat;
+import com.vacancy.model.pagination.CursorPage;
+import com.vacancy.model.pagination.SerializedPage;
+import com.vacancy.model.search.FavoriteVacancy;
+import com.vacancy.model.search.SalaryBucket;
+import com.vacancy.model.search.VacancyFilter;
+import com.vacancy.model.search.VacancySearchHit;
+import com.vacancy.model.search.VacancySort;
+import com.vacancy.model.search.VacancySummary;
 import com.vacancy.repository.OrganizationRepository;
 import com.vacancy.repository.UserRepository;
 import com.vacancy.repository.UserVacancyResponseRepository;
 import com.vacancy.repository.VacancyRepository;
+import com.vacancy.search.VacancyCounters;
+import com.vacancy.search.VacancyFacets;
+import com.vacancy.search.VacancyIndex;
 import io.restassured.RestAssured;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -18,14 +38,22 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.server.LocalServerPort;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.testcontainers.containers.PostgreSQLContainer;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
 
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
@@ -38,6 +66,14 @@ class VacancyServiceTest {
     @Autowired
     VacancyService vacancyService;
     @Autowired
+    TotalCountService totalCountService;
+    @Autowired
+    VacancyIndexService vacancyIndexService;
+    @Autowired
+    VacancyExportService vacancyExportService;
+    @Autowired
+    VacancyFacetService vacancyFacetService;
+    @Autowired
     VacancyRepository vacancyRepository;
     @Autowired
     UserRepository userRepository;
@@ -47,6 +83,20 @@ class VacancyServiceTest {
     UserVacancyResponseRepository responseRepository;
     @Autowired
     UserService userService;
+    @Autowired
+    VacancyCounterService counterService;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    CacheStatisticsService cacheStatisticsService;
+    @Autowired
+    VacancyPageCacheService pageCacheService;
+    @Autowired
+    ObjectMapper objectMapper;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
 
     private User testUser;
     private Organization testOrganization;
@@ -98,16 +148,192 @@ class VacancyServiceTest {
         vacancyRepository.save(new Vacancy("V_2", "V_2"));
         vacancyRepository.save(new Vacancy("V_3", "V_3"));
 
-        Page<Vacancy> result = vacancyService.getAllVacancies(0, 2);
+        Slice<VacancySummary> result = vacancyService.getAllVacancies(VacancyFilter.NONE, 0, 2);
 
         assertEquals(2, result.getContent().size());
-        assertEquals(4, result.getTotalElements());
+        assertTrue(result.hasNext());
+        assertEquals(4, totalCountService.getTotalCount(Vacancy.class, true));
     }
 
     @Test
     void getAllVacancies_shouldLimitPageSize() {
-        Page<Vacancy> result = vacancyService.getAllVacancies(0, 100);
+        Slice<VacancySummary> result = vacancyService.getAllVacancies(VacancyFilter.NONE, 0, 100);
+        assertEquals(1, result.getContent().size());
+    }
+
+    @Test
+    void getVacanciesAfterTest() {
+        vacancyRepository.save(new Vacancy("V_1", "V_1"));
+        vacancyRepository.save(new Vacancy("V_2", "V_2"));
+        vacancyRepository.save(new Vacancy("V_3", "V_3"));
+
+        CursorPage<VacancySummary> first = vacancyService.getVacanciesAfter(VacancyFilter.NONE, "", 2);
+        assertEquals(2, first.content().size());
+        assertEquals(testVacancy.getId(), first.content().get(0).id());
+        assertTrue(first.hasNext());
+
+        CursorPage<VacancySummary> second = vacancyService.getVacanciesAfter(VacancyFilter.NONE, first.nextCursor(), 2);
+        assertEquals(2, second.content().size());
+        assertTrue(second.content().get(0).id() > first.content().get(1).id());
+        assertFalse(second.hasNext());
+    }
+
+    @Test
+    void getVacanciesAfter_shouldRejectMalformedCursor() {
+        assertThrows(RequestException.class, () -> {
+            vacancyService.getVacanciesAfter(VacancyFilter.NONE, "not-a-cursor", 2);
+        });
+    }
+
+    @Test
+    void getAllVacancies_shouldApplyFilter() {
+        Vacancy cheap = new Vacancy("Junior", "Junior position");
+        cheap.setCity("Moscow");
+        cheap.setMinSalary(50);
+        cheap.setMaxSalary(80);
+        vacancyRepository.save(cheap);
+
+        Vacancy expensive = new Vacancy("Senior", "Senior position");
+        expensive.setCity("Moscow");
+        expensive.setMinSalary(200);
+        expensive.setMaxSalary(300);
+        expensive.setOrganization(testOrganization);
+        expensive = vacancyRepository.save(expensive);
+
+        Vacancy otherCity = new Vacancy("Senior", "Senior position");
+        otherCity.setCity("Kazan");
+        otherCity.setMinSalary(200);
+        otherCity.setMaxSalary(300);
+        vacancyRepository.save(otherCity);
+
+        VacancyFilter filter = new VacancyFilter("Moscow", 100, 250, null, VacancySort.SALARY_DESC);
+        Slice<VacancySummary> result = vacancyService.getAllVacancies(filter, 0, 10);
+
         assertEquals(1, result.getContent().size());
+        assertEquals(expensive.getId(), result.getContent().get(0).id());
+        assertEquals(2, vacancyService.countVacancies(new VacancyFilter("Moscow", null, null, null, null)));
+        assertEquals(2, vacancyService.countVacancies(new VacancyFilter(null, null, null, testOrganization.getId(), null)));
+    }
+
+    @Test
+    void getAllVacancies_shouldSortBySalaryWithoutDroppingUnpaid() {
+        Vacancy paid = new Vacancy("Senior", "Senior position");
+        paid.setMaxSalary(300);
+        paid.setOrganization(testOrganization);
+        paid = vacancyRepository.save(paid);
+
+        VacancyFilter filter = new VacancyFilter(null, null, null, null, VacancySort.SALARY_DESC);
+        Slice<VacancySummary> result = vacancyService.getAllVacancies(filter, 0, 10);
+
+        assertEquals(List.of(paid.getId(), testVacancy.getId()),
+                result.getContent().stream().map(VacancySummary::id).toList());
+        assertEquals(2, vacancyService.countVacancies(filter));
+    }
+
+    @Test
+    void getAllVacancies_shouldRejectInvertedSalaryRange() {
+        VacancyFilter filter = new VacancyFilter(null, 300, 100, null, null);
+        assertThrows(RequestException.class, () -> {
+            vacancyService.getAllVacancies(filter, 0, 10);
+        });
+    }
+
+    @Test
+    void searchVacancies_shouldEscapeDescriptionInSnippet() {
+        vacancyRepository.save(new Vacancy("Frontend", "Django <script>alert(1)</script> & \"React\""));
+
+        CursorPage<VacancySearchHit> hits = vacancyService.searchVacancies("django", null, 10);
+
+        String snippet = hits.content().get(0).getSnippet();
+        assertTrue(snippet.contains("<b>Django</b>"), snippet);
+        assertTrue(snippet.contains("&lt;script&gt;"), snippet);
+        assertFalse(snippet.contains("<script>"), snippet);
+        assertFalse(snippet.contains("\""), snippet);
+    }
+
+    @Test
+    void searchVacanciesTest() {
+        vacancyRepository.save(new Vacancy("Python Developer", "Backend on Django and PostgreSQL"));
+        vacancyRepository.save(new Vacancy("Designer", "Figma mockups"));
+
+        CursorPage<VacancySearchHit> python = vacancyService.searchVacancies("django", null, 10);
+        assertEquals(1, python.content().size());
+        assertEquals("Python Developer", python.content().get(0).getDescription());
+        assertTrue(python.content().get(0).getSnippet().contains("<b>Django</b>"));
+
+        CursorPage<VacancySearchHit> first = vacancyService.searchVacancies("developer", null, 1);
+        assertEquals(1, first.content().size());
+        assertTrue(first.hasNext());
+
+        CursorPage<VacancySearchHit> second = vacancyService.searchVacancies("developer", first.nextCursor(), 1);
+        assertEquals(1, second.content().size());
+        assertNotEquals(first.content().get(0).getId(), second.content().get(0).getId());
+        assertFalse(second.hasNext());
+    }
+
+    @Test
+    void searchVacancies_shouldRejectBlankQuery() {
+        assertThrows(RequestException.class, () -> {
+            vacancyService.searchVacancies(" ", null, 10);
+        });
+    }
+
+    @Test
+    void saveVacancy_shouldUpdateSearchIndex() {
+        Vacancy saved = vacancyService.saveVacancy(new Vacancy("Rust Developer", "Tokio async runtime"));
+
+        List<VacancyIndex.Hit> hits = vacancyIndexService.search("tokio", VacancyFilter.NONE, 0, 10);
+        assertEquals(1, hits.size());
+        assertEquals(saved.getId(), hits.get(0).vacancyId());
+
+        vacancyService.deleteVacancy(saved.getId());
+        assertTrue(vacancyIndexService.search("tokio", VacancyFilter.NONE, 0, 10).isEmpty());
+    }
+
+    @Test
+    void saveVacancy_shouldUpdateFacets() {
+        Vacancy vacancy = new Vacancy("Go Developer", "Go Developer position");
+        vacancy.setCity("Tver");
+        vacancy.setMaxSalary(120_000);
+        Vacancy saved = vacancyService.saveVacancy(vacancy);
+
+        VacancyFacets.Counts counts = vacancyFacetService.getFacets("Tver", null);
+        assertEquals(1, counts.cities().get("Tver"));
+        assertEquals(1, counts.salaryBuckets().get(SalaryBucket.FROM_100K_TO_150K));
+
+        vacancyService.deleteVacancy(saved.getId());
+        assertFalse(vacancyFacetService.getFacets(null, null).cities().containsKey("Tver"));
+    }
+
+    @Test
+    void exportVacanciesTest() throws IOException {
+        Vacancy quoted = new Vacancy("Backend, \"Java\"", "Line one\nline two");
+        quoted.setCity("Moscow");
+        quoted = vacancyRepository.save(quoted);
+
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        assertEquals(2, vacancyExportService.exportVacancies(VacancyExportFormat.NDJSON, ndjson));
+        String[] lines = ndjson.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"id\":" + testVacancy.getId()));
+        assertTrue(lines[0].contains("\"organization_id\":" + testOrganization.getId()));
+        assertTrue(lines[1].contains("\"long_description\":\"Line one\\nline two\""));
+
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        assertEquals(2, vacancyExportService.exportVacancies(VacancyExportFormat.CSV, csv));
+        assertTrue(csv.toString(StandardCharsets.UTF_8).endsWith(
+                quoted.getId() + ",\"Backend, \"\"Java\"\"\",\"Line one\nline two\",,,Moscow,\r\n"));
+
+        for (VacancyExportFormat format : List.of(VacancyExportFormat.CBOR, VacancyExportFormat.SMILE)) {
+            ByteArrayOutputStream binary = new ByteArrayOutputStream();
+            assertEquals(2, vacancyExportService.exportVacancies(format, binary));
+            ObjectMapper mapper = (format == VacancyExportFormat.CBOR ? WireFormat.CBOR : WireFormat.SMILE).mapper(objectMapper);
+            List<JsonNode> rows = mapper.readerFor(JsonNode.class).<JsonNode>readValues(binary.toByteArray()).readAll();
+            assertEquals(2, rows.size());
+            assertEquals(testOrganization.getId(), rows.get(0).get("organization_id").asLong());
+            assertEquals("Line one\nline two", rows.get(1).get("long_description").asText());
+            assertTrue(binary.size() < ndjson.size());
+        }
     }
 
     @Test
@@ -141,6 +367,13 @@ class VacancyServiceTest {
         assertEquals(1, count);
     }
 
+    @Test
+    void respondToVacancy_shouldThrowException_whenUserNotFound() {
+        assertThrows(RequestException.class, () -> {
+            vacancyService.respondToVacancy(testVacancy.getId(), 999L);
+        });
+    }
+
     @Test
     void removeResponseFromVacancyTest() {
         UserVacancyResponse response = new UserVacancyResponse(testUser, testVacancy);
@@ -154,7 +387,7 @@ class VacancyServiceTest {
     @Test
     void addToFavoritesTest() {
         vacancyService.addToFavorites(testVacancy.getId(), testUser.getId());
-        List<Vacancy> fav = userService.getUserFavorites(testUser.getId());
+        List<FavoriteVacancy> fav = userService.getUserFavorites(testUser.getId(), null, 50).content();
         assertEquals(1, fav.size());
         assertEquals(testVacancy.getId(), fav.get(0).getId());
     }
@@ -164,10 +397,32 @@ class VacancyServiceTest {
         vacancyService.addToFavorites(testVacancy.getId(), testUser.getId());
         vacancyService.addToFavorites(testVacancy.getId(), testUser.getId());
 
-        List<Vacancy> fav = userService.getUserFavorites(testUser.getId());
+        List<FavoriteVacancy> fav = userService.getUserFavorites(testUser.getId(), null, 50).content();
         assertEquals(1, fav.size());
     }
 
+    @Test
+    void addToFavorites_shouldKeepInsertionOrder() {
+        Vacancy second = vacancyRepository.save(new Vacancy("Second", "Second position"));
+        Vacancy third = vacancyRepository.save(new Vacancy("Third", "Third position"));
+
+        vacancyService.addToFavorites(third.getId(), testUser.getId());
+        vacancyService.addToFavorites(testVacancy.getId(), testUser.getId());
+        vacancyService.addToFavorites(second.getId(), testUser.getId());
+        vacancyService.removeFromFavorites(testVacancy.getId(), testUser.getId());
+        vacancyService.addToFavorites(testVacancy.getId(), testUser.getId());
+
+        List<Long> ids = userService.getUserFavorites(testUser.getId(), null, 50).content().stream().map(FavoriteVacancy::getId).toList();
+        assertEquals(List.of(third.getId(), second.getId(), testVacancy.getId()), ids);
+    }
+
+    @Test
+    void addToFavorites_shouldThrowException_whenVacancyNotFound() {
+        assertThrows(RequestException.class, () -> {
+            vacancyService.addToFavorites(999L, testUser.getId());
+        });
+    }
+
     @Test
     void removeFromFavoritesTest() {
         testUser.getFavoriteList().add(testVacancy);
@@ -175,7 +430,169 @@ class VacancyServiceTest {
 
         vacancyService.removeFromFavorites(testVacancy.getId(), testUser.getId());
         
-        List<Vacancy> fav = userService.getUserFavorites(testUser.getId());
+        List<FavoriteVacancy> fav = userService.getUserFavorites(testUser.getId(), null, 50).content();
         assertEquals(0, fav.size());
     }
-}
\ No newline at end of file
+
+    @Test
+    void countersTest() {
+        Vacancy vacancy = new Vacancy("Counted", "Counted position");
+        vacancy.setOrganization(testOrganization);
+        Long vacancyId = vacancyService.saveVacancy(vacancy).getId();
+        User another = userRepository.save(new User("another", "another@example.com"));
+
+        vacancyService.respondToVacancy(vacancyId, testUser.getId());
+        vacancyService.respondToVacancy(vacancyId, testUser.getId());
+        vacancyService.respondToVacancy(vacancyId, another.getId());
+        vacancyService.removeResponseFromVacancy(vacancyId, another.getId());
+        vacancyService.addToFavorites(vacancyId, testUser.getId());
+        vacancyService.addToFavorites(vacancyId, testUser.getId());
+        vacancyService.addToFavorites(vacancyId, another.getId());
+
+        assertEquals(new VacancyCounters.Counts(1, 2), counterService.getVacancyCounts(vacancyId));
+        assertEquals(new VacancyCounters.Counts(1, 2), counterService.getOrganizationCounts(testOrganization.getId()));
+
+        userService.deleteUser(another.getId());
+        assertEquals(new VacancyCounters.Counts(1, 1), counterService.getVacancyCounts(vacancyId));
+
+        counterService.flush();
+        assertEquals(List.of(1L, 1L), jdbcTemplate.queryForList(
+                "SELECT unnest(ARRAY[responses, favorites]) FROM vacancy_counters WHERE vacancy_id = ?", Long.class, vacancyId));
+    }
+
+    @Test
+    void counters_shouldPickUpIncrementsWrittenByOtherInstances() {
+        Long vacancyId = testVacancy.getId();
+        vacancyService.respondToVacancy(vacancyId, testUser.getId());
+        counterService.flush();
+        // так приращения дописывает другой экземпляр приложения
+        jdbcTemplate.update("UPDATE vacancy_counters SET responses = responses + 4 WHERE vacancy_id = ?", vacancyId);
+        vacancyService.addToFavorites(vacancyId, testUser.getId());
+
+        counterService.refresh();
+
+        assertEquals(new VacancyCounters.Counts(5, 1), counterService.getVacancyCounts(vacancyId));
+        assertEquals(new VacancyCounters.Counts(5, 1), counterService.getOrganizationCounts(testOrganization.getId()));
+    }
+
+    @Test
+    void counters_shouldIgnoreRolledBackChanges() {
+        Long vacancyId = testVacancy.getId();
+        transactionTemplate.executeWithoutResult(status -> {
+            vacancyService.addToFavorites(vacancyId, testUser.getId());
+            vacancyService.respondToVacancy(vacancyId, testUser.getId());
+            status.setRollbackOnly();
+        });
+
+        assertEquals(VacancyCounters.Counts.ZERO, counterService.getVacancyCounts(vacancyId));
+    }
+
+    @Test
+    void secondLevelCacheTest() {
+        Long vacancyId = testVacancy.getId();
+        vacancyService.getVacancyById(vacancyId);
+        long hits = vacancyCacheHits();
+        vacancyService.getVacancyById(vacancyId);
+        assertTrue(vacancyCacheHits() > hits);
+
+        Vacancy changed = vacancyService.getVacancyById(vacancyId);
+        changed.setDescription("Kotlin Developer");
+        vacancyService.saveVacancy(changed);
+        assertEquals("Kotlin Developer", vacancyService.getVacancyById(vacancyId).getDescription());
+
+        userService.updateUser(testUser.getId(), new User("renamed", "renamed@example.com"), null);
+        assertNotNull(userService.createUser(new User("newcomer", "test@example.com")).getId());
+
+        vacancyService.deleteVacancy(vacancyId);
+        assertThrows(RequestException.class, () -> vacancyService.getVacancyById(vacancyId));
+    }
+
+    @Test
+    void bulkScans_shouldBypassSecondLevelCache() throws IOException {
+        Cache cache = entityManagerFactory.getCache();
+        cache.evictAll();
+
+        vacancyExportService.exportVacancies(VacancyExportFormat.NDJSON, new ByteArrayOutputStream());
+        vacancyRepository.findBatchWithOrganization(0, Limit.of(100));
+
+        assertFalse(cache.contains(Vacancy.class, testVacancy.getId()));
+        assertFalse(cache.contains(Organization.class, testOrganization.getId()));
+    }
+
+    private long vacancyCacheHits() {
+        return cacheStatisticsService.getStatistics().stream()
+                .filter(region -> region.getRegion().equals(Vacancy.class.getName()))
+                .mapToLong(CacheRegionStatsDtoOut::getHits)
+                .sum();
+    }
+
+    @Test
+    void pageCacheTest() throws IOException {
+        SerializedPage first = pageCacheService.getPage(VacancyFilter.NONE, 0, 10, null, WireFormat.JSON, false);
+        assertSame(first, pageCacheService.getPage(VacancyFilter.NONE, 0, 10, null, WireFormat.JSON, false));
+        assertFalse(first.hasNext());
+        String json = new String(first.body(), StandardCharsets.UTF_8);
+        assertTrue(json.contains("\"min_salary\""));
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(first.gzip()))) {
+            assertEquals(json, new String(gzip.readAllBytes(), StandardCharsets.UTF_8));
+        }
+
+        Vacancy vacancy = new Vacancy("Kotlin Developer", "Kotlin Developer position");
+        vacancy.setOrganization(testOrganization);
+        vacancyService.saveVacancy(vacancy);
+
+        SerializedPage second = pageCacheService.getPage(VacancyFilter.NONE, 0, 10, null, WireFormat.JSON, false);
+        assertNotSame(first, second);
+        assertTrue(new String(second.body(), StandardCharsets.UTF_8).contains("Kotlin Developer"));
+
+        // за пределами первых страниц ответ не кешируется и не сжимается
+        SerializedPage deep = pageCacheService.getPage(VacancyFilter.NONE, 100, 10, null, WireFormat.JSON, false);
+        assertNull(deep.gzip());
+        assertNotSame(deep, pageCacheService.getPage(VacancyFilter.NONE, 100, 10, null, WireFormat.JSON, false));
+    }
+
+    @Test
+    void pageCache_shouldKeepTotalCountWithPage() {
+        SerializedPage exact = pageCacheService.getPage(VacancyFilter.NONE, 0, 10, null, WireFormat.JSON, true);
+        assertEquals(1L, exact.totalCount());
+        assertSame(exact, pageCacheService.getPage(VacancyFilter.NONE, 0, 10, null, WireFormat.JSON, true));
+
+        VacancyFilter filtered = new VacancyFilter("Moscow", null, null, null, VacancySort.ID);
+        assertNull(pageCacheService.getPage(filtered, 0, 10, null, WireFormat.JSON, false).totalCount());
+        assertEquals(0L, pageCacheService.getPage(filtered, 0, 10, null, WireFormat.JSON, true).totalCount());
+
+        Vacancy vacancy = new Vacancy("Kotlin Developer", "Kotlin Developer position");
+        vacancy.setOrganization(testOrganization);
+        vacancyService.saveVacancy(vacancy);
+
+        assertEquals(2L, pageCacheService.getPage(VacancyFilter.NONE, 0, 10, null, WireFormat.JSON, true).totalCount());
+    }
+
+    @Test
+    void pageCache_shouldCacheOnlyFirstKeysetPage() {
+        Vacancy vacancy = new Vacancy("Kotlin Developer", "Kotlin Developer position");
+        vacancy.setOrganization(testOrganization);
+        vacancyService.saveVacancy(vacancy);
+
+        SerializedPage first = pageCacheService.getPage(VacancyFilter.NONE, 0, 1, "", WireFormat.JSON, false);
+        assertSame(first, pageCacheService.getPage(VacancyFilter.NONE, 0, 1, "", WireFormat.JSON, false));
+        assertNotNull(first.nextCursor());
+
+        SerializedPage next = pageCacheService.getPage(VacancyFilter.NONE, 0, 1, first.nextCursor(), WireFormat.JSON, false);
+        assertNull(next.gzip());
+        assertNotSame(next, pageCacheService.getPage(VacancyFilter.NONE, 0, 1, first.nextCursor(), WireFormat.JSON, false));
+    }
+
+    @Test
+    void binaryPageCacheTest() throws IOException {
+        SerializedPage json = pageCacheService.getPage(VacancyFilter.NONE, 0, 10, null, WireFormat.JSON, false);
+        List<VacancySummaryDtoOut> expected = objectMapper.readValue(json.body(), new TypeReference<>() {});
+        for (WireFormat format : List.of(WireFormat.CBOR, WireFormat.SMILE)) {
+            SerializedPage page = pageCacheService.getPage(VacancyFilter.NONE, 0, 10, null, format, false);
+            assertNotSame(json, page);
+            assertSame(page, pageCacheService.getPage(VacancyFilter.NONE, 0, 10, null, format, false));
+            assertEquals(expected, format.mapper(objectMapper).readValue(page.body(), new TypeReference<List<VacancySummaryDtoOut>>() {}));
+            assertTrue(page.body().length < json.body().length);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.vacancy.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class VacancyStateLoaderTest {
+
+    private record Row(long id, Long organizationId) {
+    }
+
+    @Test
+    void load_shouldSkipRowsChangedByEventsDuringLoading() {
+        VacancyStateLoader loader = new VacancyStateLoader();
+        List<Long> applied = new ArrayList<>();
+        List<List<Row>> batches = List.of(
+                List.of(new Row(1, 10L), new Row(2, 10L)),
+                List.of(new Row(3, 20L), new Row(4, null)),
+                List.of());
+        int[] call = {0};
+
+        loader.load(lastId -> {
+            if (call[0] == 1) {
+                // события приходят, пока загрузчик читает следующие пачки
+                loader.vacancyChanged(3, () -> applied.add(-3L));
+                loader.organizationDeleted(10, () -> applied.add(-10L));
+            }
+            return batches.get(call[0]++);
+        }, Row::id, Row::organizationId, row -> applied.add(row.id()));
+
+        assertEquals(List.of(1L, 2L, -3L, -10L, 4L), applied);
+        assertTrue(loader.isReady());
+    }
+
+    @Test
+    void events_shouldNotBeRememberedOutsideLoading() {
+        VacancyStateLoader loader = new VacancyStateLoader();
+        List<Long> applied = new ArrayList<>();
+        loader.vacancyChanged(1, () -> applied.add(-1L));
+        assertFalse(loader.isReady());
+
+        loader.load(lastId -> lastId == 0 ? List.of(new Row(1, null)) : List.of(),
+                Row::id, Row::organizationId, row -> applied.add(row.id()));
+
+        assertEquals(List.of(-1L, 1L), applied);
+    }
+}